@@ -0,0 +1,79 @@
+package com.asset.management.benchmark;
+
+import com.asset.management.security.AuthInterceptor;
+import com.asset.management.service.AuthService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 认证拦截器：解析令牌、查询会话、按接口权限表授权
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class AuthInterceptorBenchmark {
+
+    private BenchmarkContext context;
+    private AuthInterceptor interceptor;
+    private String token;
+    private MockHttpServletRequest get;
+    private MockHttpServletRequest post;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContext.start(10, 10);
+        interceptor = context.bean(AuthInterceptor.class);
+        token = context.bean(AuthService.class).login("user", "user123").getToken();
+        get = request("GET", "/resources/6/schedule");
+        post = request("POST", "/allocations");
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean allowedGet() throws Exception {
+        return interceptor.preHandle(get, response, null);
+    }
+
+    @Benchmark
+    public boolean allowedPost() throws Exception {
+        return interceptor.preHandle(post, response, null);
+    }
+
+    /**
+     * 普通用户删除分配：返回 403 并写出错误响应
+     */
+    @Benchmark
+    public boolean forbidden() throws Exception {
+        return interceptor.preHandle(request("DELETE", "/allocations/1"), new MockHttpServletResponse(), null);
+    }
+
+    private MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api" + path);
+        request.setContextPath("/api");
+        request.setServletPath(path);
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,233 @@
+package com.asset.management.benchmark;
+
+import com.asset.management.AssetManagementApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 基准与压测用的应用上下文：H2 内存库（MySQL 模式）按 schema.sql 建表、写入指定规模的数据后启动应用
+ *
+ * 数据在应用启动前写入，内存索引与占用位图按正常流程从数据库加载。
+ * 每个资源的分配为从明天 0 点起每 3 小时一个、时长 2 小时，每 10 个中有 1 个已取消；
+ * 每 20 个分配后的空档放一个维护窗口，硬、软交替。
+ */
+public final class BenchmarkContext implements AutoCloseable {
+
+    /**
+     * 相邻分配的间隔（小时），分配时长为 2 小时，其余 1 小时为空档
+     */
+    public static final int SLOT_HOURS = 3;
+
+    private static final Pattern CREATE_TABLE = Pattern.compile("CREATE TABLE (\\w+)");
+    private static final Pattern INDEX = Pattern.compile("^(\\s+(?:UNIQUE KEY|UNIQUE INDEX|INDEX|KEY) )(\\w+)( \\()");
+    private static final Pattern CONSTRAINT = Pattern.compile("CONSTRAINT (\\w+) ");
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private final ConfigurableApplicationContext context;
+    private final List<Long> resourceIds;
+    private final LocalDateTime firstStart;
+
+    private BenchmarkContext(ConfigurableApplicationContext context, List<Long> resourceIds, LocalDateTime firstStart) {
+        this.context = context;
+        this.resourceIds = resourceIds;
+        this.firstStart = firstStart;
+    }
+
+    /**
+     * 建库、写入数据并启动应用（不启动 Web 服务器）
+     *
+     * @param args 额外的启动参数（--key=value），优先于 application.yml 与内置参数
+     */
+    public static BenchmarkContext start(int resources, int allocationsPerResource, String... args) {
+        return start(false, resources, allocationsPerResource, args);
+    }
+
+    /**
+     * 建库、写入数据并在随机端口启动 Web 服务器
+     */
+    public static BenchmarkContext startServer(int resources, int allocationsPerResource, String... args) {
+        return start(true, resources, allocationsPerResource, args);
+    }
+
+    private static BenchmarkContext start(boolean server, int resources, int allocationsPerResource, String... args) {
+        String url = "jdbc:h2:mem:benchmark" + DATABASES.incrementAndGet()
+                + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE";
+        LocalDateTime firstStart = LocalDate.now().plusDays(1).atStartOfDay();
+        List<Long> resourceIds;
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            createSchema(connection);
+            resourceIds = seed(connection, resources, allocationsPerResource, firstStart);
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("初始化基准测试数据库失败", e);
+        }
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.main.web-application-type", server ? "servlet" : "none");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", url);
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.hikari.connection-init-sql", "SELECT 1");
+        properties.put("spring.sql.init.mode", "never");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.org.springframework", "WARN");
+        properties.put("logging.level.com.asset.management", "WARN");
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("启动参数格式应为 --key=value: " + arg);
+            }
+            properties.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        String[] arguments = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplication(AssetManagementApplication.class).run(arguments);
+        return new BenchmarkContext(context, resourceIds, firstStart);
+    }
+
+    /**
+     * Web 服务器实际监听的端口（startServer 启动时）
+     */
+    public int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    /**
+     * 应用的接口地址（含 context-path）
+     */
+    public String baseUrl() {
+        return "http://localhost:" + port() + context.getEnvironment().getProperty("server.servlet.context-path", "");
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * 写入的资源ID（不含 schema.sql 自带的示例资源）
+     */
+    public List<Long> resourceIds() {
+        return resourceIds;
+    }
+
+    /**
+     * 第 index 个分配的开始时间（各资源相同）
+     */
+    public LocalDateTime slotStart(int index) {
+        return firstStart.plusHours((long) index * SLOT_HOURS);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    /**
+     * 执行 schema.sql：去掉 MySQL 专有的建库语句、注释与表选项，索引与约束名加表名前缀（H2 中按库唯一）
+     */
+    private static void createSchema(Connection connection) throws IOException {
+        String source = new ClassPathResource("schema.sql").getContentAsString(StandardCharsets.UTF_8);
+        StringBuilder script = new StringBuilder();
+        String table = null;
+        for (String line : source.split("\n")) {
+            if (line.startsWith("CREATE DATABASE") || line.startsWith("USE ") || line.startsWith("SET FOREIGN_KEY_CHECKS")) {
+                continue;
+            }
+            Matcher create = CREATE_TABLE.matcher(line);
+            if (create.lookingAt()) {
+                table = create.group(1);
+            }
+            line = line.replaceAll("\\s+COMMENT '[^']*'", "").replaceAll("\\)\\s*ENGINE=.*;", ");");
+            if (table != null) {
+                line = INDEX.matcher(line).replaceFirst("$1" + table + "_$2$3");
+                line = CONSTRAINT.matcher(line).replaceFirst("CONSTRAINT " + table + "_$1 ");
+            }
+            script.append(line).append('\n');
+        }
+        ScriptUtils.executeSqlScript(connection, new EncodedResource(
+                new ByteArrayResource(script.toString().getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8));
+    }
+
+    private static List<Long> seed(Connection connection, int resources, int allocationsPerResource,
+                                   LocalDateTime firstStart) throws SQLException {
+        connection.setAutoCommit(false);
+        List<Long> resourceIds = new ArrayList<>(resources);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO t_resource (name, category_id, status) VALUES (?, ?, 'AVAILABLE')",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < resources; i++) {
+                insert.setString(1, "基准资源" + i);
+                insert.setLong(2, 1 + i % 3);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    resourceIds.add(keys.getLong(1));
+                }
+            }
+        }
+
+        try (PreparedStatement allocation = connection.prepareStatement(
+                "INSERT INTO t_allocation (resource_id, project_id, start_time, end_time, status, remark) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement window = connection.prepareStatement(
+                     "INSERT INTO t_maintenance_window (resource_id, start_time, end_time, type, reason) "
+                             + "VALUES (?, ?, ?, ?, ?)")) {
+            int pending = 0;
+            for (Long resourceId : resourceIds) {
+                for (int i = 0; i < allocationsPerResource; i++) {
+                    LocalDateTime start = firstStart.plusHours((long) i * SLOT_HOURS);
+                    allocation.setLong(1, resourceId);
+                    allocation.setLong(2, 1 + i % 3);
+                    allocation.setTimestamp(3, Timestamp.valueOf(start));
+                    allocation.setTimestamp(4, Timestamp.valueOf(start.plusHours(2)));
+                    allocation.setString(5, i % 10 == 9 ? "CANCELLED" : "ACTIVE");
+                    allocation.setString(6, "基准数据 #" + i);
+                    allocation.addBatch();
+                    if (i % 20 == 19) {
+                        window.setLong(1, resourceId);
+                        window.setTimestamp(2, Timestamp.valueOf(start.plusHours(2)));
+                        window.setTimestamp(3, Timestamp.valueOf(start.plusHours(SLOT_HOURS)));
+                        window.setString(4, i % 40 == 19 ? "HARD" : "SOFT");
+                        window.setString(5, "例行维护");
+                        window.addBatch();
+                    }
+                    if (++pending == 1000) {
+                        allocation.executeBatch();
+                        window.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            allocation.executeBatch();
+            window.executeBatch();
+        }
+        connection.commit();
+        return resourceIds;
+    }
+}
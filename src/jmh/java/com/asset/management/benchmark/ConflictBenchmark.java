@@ -0,0 +1,102 @@
+package com.asset.management.benchmark;
+
+import com.asset.management.dto.ConflictCheckResponse;
+import com.asset.management.dto.ConflictType;
+import com.asset.management.schedule.ScheduleIndex;
+import com.asset.management.service.AllocationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 冲突检测：内存时间轴判定冲突类型，以及冲突预检测接口的完整路径（index=false 时每次查询数据库）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ConflictBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"10", "200"})
+    public int resources;
+
+    @Param({"10", "100", "1000"})
+    public int allocationsPerResource;
+
+    /**
+     * 冲突预检测是否使用内存索引（scheduling.index.enabled）
+     */
+    @Param({"true", "false"})
+    public boolean index;
+
+    private BenchmarkContext context;
+    private ScheduleIndex scheduleIndex;
+    private AllocationService allocationService;
+
+    private Long[] probeResources;
+    private LocalDateTime[] probeStarts;
+    private LocalDateTime[] probeEnds;
+    private int next;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContext.start(resources, allocationsPerResource, "--scheduling.index.enabled=" + index);
+        scheduleIndex = context.bean(ScheduleIndex.class);
+        allocationService = context.bean(AllocationService.class);
+
+        // 待检测时间段均匀落在已有分配上（冲突）与空档中（无冲突或维护窗口）
+        List<Long> resourceIds = context.resourceIds();
+        Random random = new Random(42);
+        probeResources = new Long[PROBES];
+        probeStarts = new LocalDateTime[PROBES];
+        probeEnds = new LocalDateTime[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            LocalDateTime slot = context.slotStart(random.nextInt(allocationsPerResource));
+            probeResources[i] = resourceIds.get(random.nextInt(resourceIds.size()));
+            probeStarts[i] = i % 2 == 0 ? slot.plusMinutes(30) : slot.plusHours(2);
+            probeEnds[i] = probeStarts[i].plusMinutes(60);
+        }
+        // 预热时间轴，测量稳态
+        for (Long resourceId : resourceIds) {
+            scheduleIndex.detectConflictType(resourceId, probeStarts[0], probeEnds[0], null);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 只读内存时间轴，与 index 参数无关
+     */
+    @Benchmark
+    public ConflictType detectConflictType() {
+        int i = next++ & (PROBES - 1);
+        return scheduleIndex.detectConflictType(probeResources[i], probeStarts[i], probeEnds[i], null);
+    }
+
+    @Benchmark
+    public ConflictCheckResponse checkConflict() {
+        int i = next++ & (PROBES - 1);
+        return allocationService.checkConflict(probeResources[i], probeStarts[i], probeEnds[i]);
+    }
+}
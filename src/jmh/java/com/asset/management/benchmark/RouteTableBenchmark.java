@@ -0,0 +1,125 @@
+package com.asset.management.benchmark;
+
+import com.asset.management.config.AuthProperties;
+import com.asset.management.security.RouteTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 接口授权判定：按 auth.routes 编译的路径前缀树，与改造前硬编码的 isAllowed 判断链加静态资源正则（基线）对比
+ * 只比较授权判定本身，不含令牌解析与会话查询
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RouteTableBenchmark {
+
+    private static final Set<String> PUBLIC_PATHS = Set.of(
+            "/",
+            "/auth/login",
+            "/error"
+    );
+    private static final Pattern STATIC_RESOURCE = Pattern.compile(
+            ".*\\.(css|js|html|png|jpg|jpeg|svg|ico|map)$",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    /**
+     * 请求方法与路径（不含 /api 前缀），均以普通用户身份判定
+     */
+    @Param({"GET /resources/6/schedule", "POST /allocations/check-conflict/batch", "DELETE /allocations/1"})
+    public String request;
+
+    private RouteTable routeTable;
+    private String method;
+    private String path;
+
+    @Setup
+    public void setup() throws IOException {
+        List<AuthProperties.Route> routes = new Binder(ConfigurationPropertySources.from(
+                new YamlPropertySourceLoader().load("application", new ClassPathResource("application.yml"))))
+                .bind("auth.routes", Bindable.listOf(AuthProperties.Route.class))
+                .orElseThrow(() -> new IllegalStateException("application.yml 未配置 auth.routes"));
+        routeTable = new RouteTable(routes);
+        int space = request.indexOf(' ');
+        method = request.substring(0, space);
+        path = request.substring(space + 1);
+    }
+
+    @Benchmark
+    public boolean routeTable() {
+        RouteTable.Access access = routeTable.lookup(path, method);
+        return access != null && (access.isPublic() || access.allows("USER"));
+    }
+
+    @Benchmark
+    public boolean baseline() {
+        return isPublicPath(path) || isAllowed("USER", method, path);
+    }
+
+    // 以下为改造前 AuthInterceptor 的判定逻辑，原样保留作为基线
+
+    private static boolean isPublicPath(String path) {
+        if (PUBLIC_PATHS.contains(path)) {
+            return true;
+        }
+        return STATIC_RESOURCE.matcher(path).matches();
+    }
+
+    private static boolean isAllowed(String role, String method, String path) {
+        if (role != null && "ADMIN".equalsIgnoreCase(role)) {
+            return true;
+        }
+        if (path.startsWith("/auth/")) {
+            return true;
+        }
+        if (path.startsWith("/users")) {
+            return false;
+        }
+        if ("GET".equalsIgnoreCase(method)) {
+            return true;
+        }
+        if ("POST".equalsIgnoreCase(method) && "/allocations".equals(path)) {
+            return true;
+        }
+        if ("POST".equalsIgnoreCase(method) && "/allocations/bulk".equals(path)) {
+            return true;
+        }
+        if ("POST".equalsIgnoreCase(method) && "/allocations/auto-book".equals(path)) {
+            return true;
+        }
+        if ("POST".equalsIgnoreCase(method) && "/allocations/gang".equals(path)) {
+            return true;
+        }
+        if ("POST".equalsIgnoreCase(method) && "/allocations/recurring".equals(path)) {
+            return true;
+        }
+        if ("POST".equalsIgnoreCase(method) && "/allocations/check-conflict/batch".equals(path)) {
+            return true;
+        }
+        return "POST".equalsIgnoreCase(method) && "/allocations/check-conflict".equals(path);
+    }
+}
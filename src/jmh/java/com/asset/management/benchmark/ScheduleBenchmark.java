@@ -0,0 +1,85 @@
+package com.asset.management.benchmark;
+
+import com.asset.management.dto.ResourceScheduleItem;
+import com.asset.management.service.ResourceScheduleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单资源日程：查询分配与维护窗口、合并并按开始时间排序
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ScheduleBenchmark {
+
+    @Param({"10", "200"})
+    public int resources;
+
+    @Param({"10", "100", "1000"})
+    public int allocationsPerResource;
+
+    private BenchmarkContext context;
+    private ResourceScheduleService resourceScheduleService;
+    private List<Long> resourceIds;
+    private LocalDateTime weekStart;
+    private LocalDateTime weekEnd;
+    private LocalDateTime rangeEnd;
+    private int next;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContext.start(resources, allocationsPerResource);
+        resourceScheduleService = context.bean(ResourceScheduleService.class);
+        resourceIds = context.resourceIds();
+        weekStart = context.slotStart(0);
+        weekEnd = weekStart.plusDays(7);
+        rangeEnd = context.slotStart(allocationsPerResource);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 一周视图（条目数有上限，不随分配总数增长）
+     */
+    @Benchmark
+    public List<ResourceScheduleItem> week() {
+        return resourceScheduleService.getSchedule(nextResource(), weekStart, weekEnd);
+    }
+
+    /**
+     * 覆盖资源全部分配的时间范围
+     */
+    @Benchmark
+    public List<ResourceScheduleItem> fullRange() {
+        return resourceScheduleService.getSchedule(nextResource(), weekStart, rangeEnd);
+    }
+
+    private Long nextResource() {
+        int i = next++;
+        if (next == resourceIds.size()) {
+            next = 0;
+        }
+        return resourceIds.get(i);
+    }
+}
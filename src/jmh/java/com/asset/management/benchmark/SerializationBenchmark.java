@@ -0,0 +1,59 @@
+package com.asset.management.benchmark;
+
+import com.asset.management.dto.Result;
+import com.asset.management.entity.Allocation;
+import com.asset.management.service.AllocationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 响应序列化：应用的 ObjectMapper 输出 Result&lt;List&lt;Allocation&gt;&gt;（资源分配列表接口的响应体）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int allocationsPerResource;
+
+    private BenchmarkContext context;
+    private ObjectMapper objectMapper;
+    private Result<List<Allocation>> result;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContext.start(1, allocationsPerResource);
+        objectMapper = context.bean(ObjectMapper.class);
+        result = Result.success(context.bean(AllocationService.class)
+                .findByResourceId(context.resourceIds().get(0)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(result);
+    }
+}
@@ -0,0 +1,278 @@
+package com.asset.management.benchmark.load;
+
+import com.asset.management.benchmark.BenchmarkContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * HTTP 压测：在 H2 内存库上启动应用，按场景的操作比例并发请求，输出各接口的吞吐、延迟分位数与冲突/错误率，
+ * 结束后逐个资源检查是否提交了时间重叠的 ACTIVE 分配（有重叠时以退出码 1 结束）
+ *
+ * 用法：LoadTest &lt;场景名称或文件&gt; [key=value ...]，例如
+ * LoadTest hot-resource clients=128 app.scheduling.allocation.write-mode=OPTIMISTIC
+ */
+public class LoadTest {
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final Scenario scenario;
+    private final BenchmarkContext context;
+    private final HttpClient http;
+    private final String baseUrl;
+    private final List<Long> resourceIds;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final LocalDateTime hotStart;
+    private String token;
+    private long startNanos;
+
+    private LoadTest(Scenario scenario, BenchmarkContext context) {
+        this.scenario = scenario;
+        this.context = context;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUrl = context.baseUrl();
+        this.resourceIds = context.resourceIds();
+        this.operations = scenario.getMix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += scenario.getMix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        // 热点时间段在已有分配之后，第一个资源为热点资源
+        this.hotStart = context.slotStart(scenario.getAllocationsPerResource()).plusDays(1);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("用法: LoadTest <场景名称或文件> [key=value ...]");
+            System.err.println("内置场景: browse、conflict-storm、hot-resource");
+            System.exit(2);
+        }
+        Scenario scenario = Scenario.load(args[0], Arrays.asList(args).subList(1, args.length));
+        int exitCode;
+        try (BenchmarkContext context = BenchmarkContext.startServer(
+                scenario.getResources(), scenario.getAllocationsPerResource(),
+                scenario.getAppArgs().toArray(String[]::new))) {
+            exitCode = new LoadTest(scenario, context).run();
+        }
+        System.exit(exitCode);
+    }
+
+    private int run() throws Exception {
+        token = login();
+        System.out.printf("场景 %s：%d 个客户端，预热 %ds，测量 %ds，%d 个资源 × %d 个分配，操作比例 %s，启动参数 %s%n",
+                scenario.getName(), scenario.getClients(), scenario.getWarmup().toSeconds(),
+                scenario.getDuration().toSeconds(), scenario.getResources(), scenario.getAllocationsPerResource(),
+                scenario.getMix(), scenario.getAppArgs());
+
+        startNanos = System.nanoTime();
+        long measureFrom = startNanos + scenario.getWarmup().toNanos();
+        long measureUntil = measureFrom + scenario.getDuration().toNanos();
+        ConcurrentLinkedQueue<Map<Operation, Recorder>> results = new ConcurrentLinkedQueue<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < scenario.getClients(); i++) {
+                clients.submit(() -> results.add(runClient(measureFrom, measureUntil)));
+            }
+        }
+
+        Map<Operation, Recorder> merged = new EnumMap<>(Operation.class);
+        for (Map<Operation, Recorder> result : results) {
+            result.forEach((operation, recorder) ->
+                    merged.computeIfAbsent(operation, key -> new Recorder()).merge(recorder));
+        }
+        report(merged);
+        System.out.println("写入统计: " + get("/allocations/write-metrics").path("data"));
+        return verify();
+    }
+
+    private Map<Operation, Recorder> runClient(long measureFrom, long measureUntil) {
+        Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            long begin = System.nanoTime();
+            if (begin >= measureUntil) {
+                return recorders;
+            }
+            Operation operation = pick(random);
+            HttpRequest request = request(operation, random, begin);
+            int code;
+            try {
+                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                code = response.statusCode() == 200 ? code(response.body()) : -1;
+            } catch (IOException e) {
+                code = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return recorders;
+            }
+            if (begin >= measureFrom) {
+                recorders.computeIfAbsent(operation, key -> new Recorder()).record(System.nanoTime() - begin, code);
+            }
+        }
+    }
+
+    private Operation pick(ThreadLocalRandom random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private HttpRequest request(Operation operation, ThreadLocalRandom random, long now) {
+        int allocations = scenario.getAllocationsPerResource();
+        Long resourceId = resourceIds.get(random.nextInt(resourceIds.size()));
+        return switch (operation) {
+            case SCHEDULE -> {
+                LocalDateTime start = context.slotStart(random.nextInt(allocations));
+                yield authorized("/resources/" + resourceId + "/schedule?startTime=" + TIME.format(start)
+                        + "&endTime=" + TIME.format(start.plusDays(7))).GET().build();
+            }
+            case CHECK_CONFLICT -> {
+                LocalDateTime start = context.slotStart(random.nextInt(allocations)).plusHours(random.nextInt(3));
+                yield post("/allocations/check-conflict", resourceId, start, start.plusHours(1));
+            }
+            case BOOK -> {
+                LocalDateTime start = context.slotStart(random.nextInt(allocations)).plusHours(random.nextInt(3));
+                yield post("/allocations", resourceId, start, start.plusHours(1));
+            }
+            case BOOK_HOT -> {
+                long window = (now - startNanos) / scenario.getHotWindow().toNanos();
+                LocalDateTime start = hotStart.plusHours(window * scenario.getHotSlots()
+                        + random.nextInt(scenario.getHotSlots()));
+                // 1 或 2 小时，部分重叠的请求同样要被拒绝
+                yield post("/allocations", resourceIds.get(0), start, start.plusHours(1 + random.nextInt(2)));
+            }
+        };
+    }
+
+    private HttpRequest post(String path, Long resourceId, LocalDateTime start, LocalDateTime end) {
+        String body = "{\"resourceId\":" + resourceId + ",\"projectId\":1,\"startTime\":\"" + TIME.format(start)
+                + "\",\"endTime\":\"" + TIME.format(end) + "\",\"remark\":\"压测\"}";
+        return authorized(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    /**
+     * 读取响应体开头的业务码（{"code":200,...}），不解析整个响应
+     */
+    private static int code(String body) {
+        if (!body.startsWith("{\"code\":")) {
+            return -1;
+        }
+        int code = 0;
+        for (int i = 8; i < body.length() && Character.isDigit(body.charAt(i)); i++) {
+            code = code * 10 + body.charAt(i) - '0';
+        }
+        return code;
+    }
+
+    private void report(Map<Operation, Recorder> recorders) {
+        double seconds = scenario.getDuration().toNanos() / 1e9;
+        System.out.printf("%n%-15s %9s %9s %9s %9s %9s %9s %9s %9s %9s%n", "operation", "count", "req/s",
+                "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "conflict%", "busy%", "error%");
+        Recorder total = new Recorder();
+        for (Map.Entry<Operation, Recorder> entry : recorders.entrySet()) {
+            print(entry.getKey().key(), entry.getValue(), seconds);
+            total.merge(entry.getValue());
+        }
+        print("total", total, seconds);
+        System.out.println();
+    }
+
+    private static void print(String name, Recorder recorder, double seconds) {
+        recorder.sort();
+        double count = Math.max(1, recorder.count());
+        System.out.printf("%-15s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                recorder.count(), recorder.count() / seconds,
+                recorder.percentileMillis(0.50), recorder.percentileMillis(0.99),
+                recorder.percentileMillis(0.999), recorder.percentileMillis(1.0),
+                100 * recorder.conflicts() / count, 100 * recorder.busy() / count, 100 * recorder.errors() / count);
+    }
+
+    /**
+     * 检查每个资源的 ACTIVE 分配两两不重叠
+     *
+     * @return 退出码：0 无重叠，1 有重叠
+     */
+    private int verify() throws Exception {
+        int overlaps = 0;
+        int active = 0;
+        for (Long resourceId : resourceIds) {
+            List<LocalDateTime[]> intervals = new ArrayList<>();
+            for (JsonNode allocation : get("/allocations/resource/" + resourceId).path("data")) {
+                if ("ACTIVE".equals(allocation.path("status").asText())) {
+                    intervals.add(new LocalDateTime[]{
+                            LocalDateTime.parse(allocation.path("startTime").asText()),
+                            LocalDateTime.parse(allocation.path("endTime").asText())});
+                }
+            }
+            active += intervals.size();
+            intervals.sort(Comparator.comparing(interval -> interval[0]));
+            LocalDateTime[] previous = null;
+            for (LocalDateTime[] interval : intervals) {
+                if (previous != null && interval[0].isBefore(previous[1])) {
+                    if (++overlaps <= 10) {
+                        System.out.printf("重叠: resourceId=%d [%s ~ %s] 与 [%s ~ %s]%n",
+                                resourceId, previous[0], previous[1], interval[0], interval[1]);
+                    }
+                }
+                if (previous == null || interval[1].isAfter(previous[1])) {
+                    previous = interval;
+                }
+            }
+        }
+        System.out.printf("一致性检查: %d 个资源、%d 个 ACTIVE 分配，重叠 %d 处%n", resourceIds.size(), active, overlaps);
+        return overlaps == 0 ? 0 : 1;
+    }
+
+    private String login() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"user\",\"password\":\"user123\"}"))
+                .build();
+        JsonNode result = JSON.readTree(http.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        if (result.path("code").asInt() != 200) {
+            throw new IllegalStateException("登录失败: " + result);
+        }
+        return result.path("data").path("token").asText();
+    }
+
+    private JsonNode get(String path) throws Exception {
+        return JSON.readTree(http.send(authorized(path).GET().build(), HttpResponse.BodyHandlers.ofString()).body());
+    }
+}
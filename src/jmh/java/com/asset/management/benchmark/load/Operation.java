@@ -0,0 +1,46 @@
+package com.asset.management.benchmark.load;
+
+/**
+ * 压测操作，场景文件中以 mix.&lt;key&gt;=权重 配置比例
+ */
+public enum Operation {
+
+    /**
+     * 随机资源的一周日程（GET /resources/{id}/schedule）
+     */
+    SCHEDULE("schedule"),
+
+    /**
+     * 随机资源、随机时间段的冲突预检测（POST /allocations/check-conflict）
+     */
+    CHECK_CONFLICT("check-conflict"),
+
+    /**
+     * 随机资源、随机时间段的预订（POST /allocations），约三分之二与已有分配重叠
+     */
+    BOOK("book"),
+
+    /**
+     * 所有客户端争抢热点资源的同一批时间段（POST /allocations），每个热点窗口开放一批新的时间段
+     */
+    BOOK_HOT("book-hot");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static Operation of(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("未知的压测操作: " + key);
+    }
+}
@@ -0,0 +1,79 @@
+package com.asset.management.benchmark.load;
+
+import java.util.Arrays;
+
+/**
+ * 单个操作的结果统计：延迟样本与按响应码分类的计数（每个客户端一份，结束后合并）
+ */
+public class Recorder {
+
+    private long[] latencies = new long[1024];
+    private int size;
+    private long ok;
+    private long conflicts;
+    private long busy;
+    private long errors;
+
+    /**
+     * @param code 响应体中的业务码，HTTP 状态非 200 或响应无法解析时为 -1
+     */
+    public void record(long latencyNanos, int code) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = latencyNanos;
+        switch (code) {
+            case 200 -> ok++;
+            case 409 -> conflicts++;
+            case 503 -> busy++;
+            default -> errors++;
+        }
+    }
+
+    public void merge(Recorder other) {
+        if (size + other.size > latencies.length) {
+            latencies = Arrays.copyOf(latencies, size + other.size);
+        }
+        System.arraycopy(other.latencies, 0, latencies, size, other.size);
+        size += other.size;
+        ok += other.ok;
+        conflicts += other.conflicts;
+        busy += other.busy;
+        errors += other.errors;
+    }
+
+    public long count() {
+        return size;
+    }
+
+    public long ok() {
+        return ok;
+    }
+
+    public long conflicts() {
+        return conflicts;
+    }
+
+    public long busy() {
+        return busy;
+    }
+
+    public long errors() {
+        return errors;
+    }
+
+    /**
+     * 延迟分位数（毫秒），调用前需 sort()
+     */
+    public double percentileMillis(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * size) - 1;
+        return latencies[Math.max(0, Math.min(index, size - 1))] / 1_000_000.0;
+    }
+
+    public void sort() {
+        Arrays.sort(latencies, 0, size);
+    }
+}
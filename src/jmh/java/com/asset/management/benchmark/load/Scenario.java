@@ -0,0 +1,97 @@
+package com.asset.management.benchmark.load;
+
+import lombok.Data;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 压测场景：数据规模、客户端数、时长、操作比例与应用启动参数
+ *
+ * 场景文件为 properties 格式，可按名称引用 classpath:scenarios/&lt;名称&gt;.properties，也可指定文件路径；
+ * 命令行上的 key=value 覆盖文件中的同名配置。以 app. 开头的配置去掉前缀后作为应用启动参数，
+ * 例如 app.scheduling.allocation.write-mode=OPTIMISTIC。
+ */
+@Data
+public class Scenario {
+
+    private String name;
+    private int clients = 32;
+    private Duration warmup = Duration.ofSeconds(5);
+    private Duration duration = Duration.ofSeconds(20);
+    private int resources = 50;
+    private int allocationsPerResource = 200;
+
+    /**
+     * BOOK_HOT：每个热点窗口开放的时间段数（1 小时一个）
+     */
+    private int hotSlots = 24;
+
+    /**
+     * BOOK_HOT：热点窗口的时长，到期后开放下一批时间段
+     */
+    private Duration hotWindow = Duration.ofSeconds(1);
+
+    private Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+    private List<String> appArgs = new ArrayList<>();
+
+    public static Scenario load(String location, List<String> overrides) throws IOException {
+        Properties properties = new Properties();
+        Path path = Path.of(location);
+        try (InputStream in = Files.isRegularFile(path)
+                ? Files.newInputStream(path)
+                : new ClassPathResource("scenarios/" + location + ".properties").getInputStream()) {
+            properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+        for (String override : overrides) {
+            int separator = override.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("场景参数格式应为 key=value: " + override);
+            }
+            properties.setProperty(override.substring(0, separator), override.substring(separator + 1));
+        }
+
+        Scenario scenario = new Scenario();
+        scenario.setName(path.getFileName().toString().replaceFirst("\\.properties$", ""));
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key).trim();
+            if (key.startsWith("mix.")) {
+                scenario.mix.put(Operation.of(key.substring(4)), Integer.parseInt(value));
+            } else if (key.startsWith("app.")) {
+                scenario.appArgs.add("--" + key.substring(4) + "=" + value);
+            } else {
+                switch (key) {
+                    case "clients" -> scenario.setClients(Integer.parseInt(value));
+                    case "warmup" -> scenario.setWarmup(DurationStyle.detectAndParse(value));
+                    case "duration" -> scenario.setDuration(DurationStyle.detectAndParse(value));
+                    case "resources" -> scenario.setResources(Integer.parseInt(value));
+                    case "allocations-per-resource" -> scenario.setAllocationsPerResource(Integer.parseInt(value));
+                    case "hot-slots" -> scenario.setHotSlots(Integer.parseInt(value));
+                    case "hot-window" -> scenario.setHotWindow(DurationStyle.detectAndParse(value));
+                    default -> throw new IllegalArgumentException("未知的场景配置: " + key);
+                }
+            }
+        }
+        scenario.mix.values().removeIf(weight -> weight <= 0);
+        if (scenario.mix.isEmpty()) {
+            throw new IllegalArgumentException("场景未配置任何操作（mix.<操作>=权重）");
+        }
+        if (scenario.clients <= 0 || scenario.resources <= 0 || scenario.allocationsPerResource <= 0
+                || scenario.hotSlots <= 0) {
+            throw new IllegalArgumentException("clients、resources、allocations-per-resource、hot-slots 必须大于 0");
+        }
+        return scenario;
+    }
+}
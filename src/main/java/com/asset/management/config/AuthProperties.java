@@ -0,0 +1,99 @@
+package com.asset.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 登录令牌配置（application.yml 中的 auth 前缀）
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "auth")
+public class AuthProperties {
+
+    /**
+     * 令牌方式
+     */
+    public enum Mode {
+        /**
+         * 服务端会话：令牌为随机串，会话保存在本节点内存中，可退出、可按空闲时间过期
+         */
+        SESSION,
+        /**
+         * 签名令牌：令牌自带用户信息与过期时间并由 HMAC 签名，任一节点用同一密钥即可校验，不保存会话
+         */
+        SIGNED
+    }
+
+    private Mode mode = Mode.SESSION;
+
+    /**
+     * 会话空闲超时（SESSION 模式），期间没有请求则失效
+     */
+    private Duration idleTimeout = Duration.ofMinutes(30);
+
+    /**
+     * 令牌自登录起的最长有效期（两种模式均生效）
+     */
+    private Duration absoluteTimeout = Duration.ofHours(12);
+
+    /**
+     * 本节点保存的会话数上限（SESSION 模式），超出时淘汰
+     */
+    private long maxSessions = 10000;
+
+    /**
+     * 签名密钥（SIGNED 模式，至少 32 字节），多个节点需配置相同的值；
+     * 不配置时启动时随机生成，令牌只在本进程内有效
+     */
+    private String signingSecret;
+
+    /**
+     * 接口权限规则，启动时编译为路径前缀树（见 RouteTable）
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    /**
+     * 一条接口权限规则
+     */
+    @Data
+    public static class Route {
+
+        /**
+         * 访问方式
+         */
+        public enum Access {
+            /**
+             * 无需登录
+             */
+            PUBLIC,
+            /**
+             * 任意已登录用户
+             */
+            AUTHENTICATED,
+            /**
+             * roles 中的角色
+             */
+            ROLES
+        }
+
+        /**
+         * 路径模式（不含 /api 前缀）：段为字面量、{变量}（或 *）匹配任意一段，末尾 ** 匹配零或多段
+         */
+        private String path;
+
+        /**
+         * HTTP 方法，为空表示全部方法
+         */
+        private List<String> methods = new ArrayList<>();
+
+        private Access access = Access.ROLES;
+
+        private List<String> roles = new ArrayList<>();
+    }
+}
@@ -0,0 +1,48 @@
+package com.asset.management.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * 开启数据库隔板时，用 BulkheadDataSource 包装数据源（MyBatis 与事务管理器取得的都是包装后的数据源）
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkheadDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    /**
+     * 延迟获取：后置处理器创建得早，此时直接注入配置类会使其跳过其他后置处理
+     */
+    private final ObjectProvider<BulkheadProperties> properties;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+            return bean;
+        }
+        BulkheadProperties config = properties.getObject();
+        if (!config.isEnabled()) {
+            return bean;
+        }
+        int permits = config.getPermits();
+        if (permits <= 0) {
+            if (!(bean instanceof HikariDataSource hikari)) {
+                throw new IllegalStateException("db-bulkhead.permits 未配置，且数据源不是 HikariDataSource，无法取得连接池大小");
+            }
+            // 连接池启动前未配置的大小为 -1，启动时取 Hikari 默认值 10
+            permits = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+        }
+        log.info("数据库隔板已开启: dataSource={}, permits={}, acquireTimeout={}",
+                beanName, permits, config.getAcquireTimeout());
+        return new BulkheadDataSource(dataSource, permits, config.getAcquireTimeout());
+    }
+}
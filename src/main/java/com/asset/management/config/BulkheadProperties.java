@@ -0,0 +1,31 @@
+package com.asset.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 数据库隔板配置（application.yml 中的 db-bulkhead 前缀）
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "db-bulkhead")
+public class BulkheadProperties {
+
+    /**
+     * 获取数据库连接前先取得许可，默认随虚拟线程模式开启
+     */
+    private boolean enabled;
+
+    /**
+     * 许可数，0 表示与连接池最大连接数相同
+     */
+    private int permits;
+
+    /**
+     * 等待许可的最长时间，超时返回“系统繁忙”
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(5);
+}
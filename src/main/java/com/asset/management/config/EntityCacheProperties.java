@@ -0,0 +1,31 @@
+package com.asset.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 实体缓存配置（application.yml 中的 entity-cache 前缀）
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "entity-cache")
+public class EntityCacheProperties {
+
+    /**
+     * 按ID查询资源、项目、类别时使用缓存，关闭后直接查询数据库
+     */
+    private boolean enabled = true;
+
+    /**
+     * 每类实体缓存的最大条数，超出时按访问频率淘汰
+     */
+    private long maximumSize = 10000;
+
+    /**
+     * 写入缓存后的存活时间，到期后重新查询数据库
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,29 @@
+package com.asset.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 批量导入配置（application.yml 中的 imports 前缀）
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "imports")
+public class ImportProperties {
+
+    /**
+     * 每个写入事务包含的行数
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * 任务中保留的被拒绝行明细上限（超出只计数）
+     */
+    private int maxRejectedDetails = 1000;
+
+    /**
+     * 内存中保留的导入任务数（超出时丢弃最早结束的任务）
+     */
+    private int retainedJobs = 20;
+}
@@ -0,0 +1,30 @@
+package com.asset.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 列表分页配置（application.yml 中的 paging 前缀）
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "paging")
+public class PagingProperties {
+
+    /**
+     * 未指定 limit 时的每页条数
+     */
+    private int defaultLimit = 50;
+
+    /**
+     * 每页条数上限
+     */
+    private int maxLimit = 500;
+
+    /**
+     * 不带分页参数的请求是否仍返回完整列表（数据量小的部署保留旧行为）；
+     * 关闭后这类请求按默认条数返回第一页
+     */
+    private boolean unpagedEnabled = true;
+}
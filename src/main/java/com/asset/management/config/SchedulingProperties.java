@@ -0,0 +1,139 @@
+package com.asset.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 调度相关配置（application.yml 中的 scheduling 前缀）
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "scheduling")
+public class SchedulingProperties {
+
+    /**
+     * 内存时间段索引配置
+     */
+    private Index index = new Index();
+
+    /**
+     * 分配写入配置
+     */
+    private AllocationWrite allocation = new AllocationWrite();
+
+    /**
+     * 资源占用位图配置
+     */
+    private Bitmap bitmap = new Bitmap();
+
+    /**
+     * 利用率统计配置
+     */
+    private Analytics analytics = new Analytics();
+
+    /**
+     * 创建分配的写入方式
+     */
+    public enum WriteMode {
+        /**
+         * 锁定资源行（SELECT ... FOR UPDATE）后检测冲突再插入
+         */
+        LOCKING,
+
+        /**
+         * 冲突检测与插入合并为一条条件插入语句（INSERT ... SELECT ... WHERE NOT EXISTS），
+         * 并发互斥依赖 InnoDB 间隙锁，仅支持 REPEATABLE READ 隔离级别的 MySQL
+         */
+        CONDITIONAL_INSERT,
+
+        /**
+         * 按固定粒度认领时间槽，由唯一约束阻止重复占用，同一资源不重叠的预订可并行
+         */
+        SLOT_CLAIM,
+
+        /**
+         * 不锁资源行，读取资源日程版本号后检测冲突并插入，提交前比较并递增版本号，
+         * 版本号不一致时回滚并有限次重试
+         */
+        OPTIMISTIC
+    }
+
+    @Data
+    public static class Index {
+
+        /**
+         * 是否启用内存索引应答冲突预检测
+         */
+        private boolean enabled = true;
+
+        /**
+         * 索引中保留的占用区间总数上限，超出时按访问频率淘汰整个资源的时间轴
+         */
+        private long maxIntervals = 1_000_000;
+
+        /**
+         * 时间轴最后一次访问后的保留时间，到期后丢弃，下次查询时重新加载
+         */
+        private Duration expireAfterAccess = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class Bitmap {
+
+        /**
+         * 是否启用资源占用位图
+         */
+        private boolean enabled = true;
+
+        /**
+         * 时间槽粒度（分钟），需能整除一天的分钟数
+         */
+        private int slotMinutes = 15;
+
+        /**
+         * 位图覆盖启动日之前的天数
+         */
+        private int pastDays = 365;
+
+        /**
+         * 位图覆盖启动日之后的天数
+         */
+        private int futureDays = 730;
+    }
+
+    @Data
+    public static class Analytics {
+
+        /**
+         * 每次统计的并行聚合线程数，0 表示 CPU 核数
+         */
+        private int parallelism = 0;
+
+        /**
+         * 缓存的报表数上限
+         */
+        private int cacheSize = 64;
+    }
+
+    @Data
+    public static class AllocationWrite {
+
+        /**
+         * 创建分配的写入方式
+         */
+        private WriteMode writeMode = WriteMode.LOCKING;
+
+        /**
+         * SLOT_CLAIM 模式的时间槽粒度（分钟），需能整除一天的分钟数
+         */
+        private int slotMinutes = 15;
+
+        /**
+         * OPTIMISTIC 模式版本号冲突、CONDITIONAL_INSERT 模式死锁时的最大重试次数
+         */
+        private int maxRetries = 3;
+    }
+}
@@ -3,8 +3,13 @@ package com.asset.management.config;
 import com.asset.management.security.AuthInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Web配置
@@ -13,10 +18,43 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    /**
+     * 前端页面与静态资源（src/main/resources/static 下的文件），不经过登录拦截
+     */
+    private static final String[] STATIC_RESOURCES = {
+            "/", "/*.html", "/*.js", "/*.css", "/*.map", "/*.ico", "/*.png", "/*.svg", "/*.jpg", "/*.jpeg",
+            "/assets/**"
+    };
+
+    /**
+     * 按内容哈希命名的静态资源（构建时生成，见 pom.xml），内容变化即换名，可长期缓存
+     */
+    private static final CacheControl FINGERPRINTED = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
     private final AuthInterceptor authInterceptor;
 
+    /**
+     * 带哈希的资源长期缓存；index.html 每次向服务端确认是否更新（未更新时 304），以便及时引用新的资源文件名。
+     * 两者均优先返回构建时生成的 .gz（以及存在时的 .br）预压缩文件
+     */
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations("classpath:/static/assets/")
+                .setCacheControl(FINGERPRINTED)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+        registry.addResourceHandler("/index.html")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(authInterceptor).addPathPatterns("/**");
+        registry.addInterceptor(authInterceptor)
+                .addPathPatterns("/**")
+                .excludePathPatterns(STATIC_RESOURCES);
     }
 }
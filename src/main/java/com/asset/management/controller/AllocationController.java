@@ -2,14 +2,37 @@ package com.asset.management.controller;
 
 import com.asset.management.dto.AllocationConflictRequest;
 import com.asset.management.dto.AllocationRequest;
+import com.asset.management.dto.AutoBookRequest;
+import com.asset.management.dto.BatchAllocationResponse;
+import com.asset.management.dto.BulkAllocationRequest;
 import com.asset.management.dto.ConflictCheckResponse;
+import com.asset.management.dto.ExportFilter;
+import com.asset.management.dto.GangAllocationRequest;
+import com.asset.management.dto.RecurringAllocationRequest;
 import com.asset.management.dto.Result;
+import com.asset.management.dto.WriteMetricsResponse;
 import com.asset.management.entity.Allocation;
+import com.asset.management.service.AllocationBatchService;
 import com.asset.management.service.AllocationService;
+import com.asset.management.service.AllocationWriteMetrics;
+import com.asset.management.service.DataVersions;
+import com.asset.management.service.ExportService;
+import com.asset.management.service.PageSupport;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -24,21 +47,78 @@ import java.util.List;
 public class AllocationController {
     
     private final AllocationService allocationService;
+    private final AllocationBatchService allocationBatchService;
+    private final AllocationWriteMetrics allocationWriteMetrics;
+    private final PageSupport pageSupport;
+    private final ExportService exportService;
+    private final ObjectMapper objectMapper;
+    private final DataVersions dataVersions;
     
     /**
-     * 查询所有分配记录
+     * 查询分配记录
+     * 带 limit 或 cursor 参数时按开始时间倒序键集分页，否则返回全部记录
+     * 分配数据未变化时按 If-None-Match 返回 304，不查询数据库（下同）
      */
     @GetMapping
-    public Result<List<Allocation>> findAll() {
+    public Result<?> findAll(@RequestParam(required = false) Integer limit,
+                             @RequestParam(required = false) String cursor,
+                             WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersions.etag(DataVersions.Scope.ALLOCATIONS))) {
+            return null;
+        }
+        if (pageSupport.isPaged(limit, cursor)) {
+            return Result.success(allocationService.findPage(null, null, limit, cursor));
+        }
         List<Allocation> allocations = allocationService.findAll();
         return Result.success(allocations);
     }
     
+    /**
+     * 导出分配记录（NDJSON 或 CSV），从数据库游标逐行写出，不在内存中组装列表
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime startTime,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime endTime,
+                                                        @RequestParam(required = false) Long resourceId,
+                                                        @RequestParam(required = false) Long projectId,
+                                                        @RequestParam(required = false) String status) {
+        ExportService.Format exportFormat = ExportService.Format.of(format);
+        ExportFilter filter = new ExportFilter();
+        filter.setStartTime(startTime);
+        filter.setEndTime(endTime);
+        filter.setResourceId(resourceId);
+        filter.setProjectId(projectId);
+        filter.setStatus(status);
+        exportService.validateAllocationFilter(filter);
+        StreamingResponseBody body = outputStream -> exportService.exportAllocations(filter, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=allocations." + exportFormat.getExtension())
+                .body(body);
+    }
+    
+    /**
+     * 单条分配写入统计（写入方式、成功/冲突/重试次数、耗时）
+     */
+    @GetMapping("/write-metrics")
+    public Result<WriteMetricsResponse> writeMetrics() {
+        return Result.success(allocationWriteMetrics.snapshot());
+    }
+    
     /**
      * 根据ID查询分配记录
      */
     @GetMapping("/{id}")
-    public Result<Allocation> findById(@PathVariable Long id) {
+    public Result<Allocation> findById(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersions.etag(DataVersions.Scope.ALLOCATIONS))) {
+            return null;
+        }
         Allocation allocation = allocationService.findById(id);
         if (allocation == null) {
             return Result.error("分配记录不存在");
@@ -50,7 +130,16 @@ public class AllocationController {
      * 根据资源ID查询分配记录
      */
     @GetMapping("/resource/{resourceId}")
-    public Result<List<Allocation>> findByResourceId(@PathVariable Long resourceId) {
+    public Result<?> findByResourceId(@PathVariable Long resourceId,
+                                      @RequestParam(required = false) Integer limit,
+                                      @RequestParam(required = false) String cursor,
+                                      WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersions.resourceEtag(resourceId))) {
+            return null;
+        }
+        if (pageSupport.isPaged(limit, cursor)) {
+            return Result.success(allocationService.findPage(resourceId, null, limit, cursor));
+        }
         List<Allocation> allocations = allocationService.findByResourceId(resourceId);
         return Result.success(allocations);
     }
@@ -59,7 +148,16 @@ public class AllocationController {
      * 根据项目ID查询分配记录
      */
     @GetMapping("/project/{projectId}")
-    public Result<List<Allocation>> findByProjectId(@PathVariable Long projectId) {
+    public Result<?> findByProjectId(@PathVariable Long projectId,
+                                     @RequestParam(required = false) Integer limit,
+                                     @RequestParam(required = false) String cursor,
+                                     WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersions.etag(DataVersions.Scope.ALLOCATIONS))) {
+            return null;
+        }
+        if (pageSupport.isPaged(limit, cursor)) {
+            return Result.success(allocationService.findPage(null, projectId, limit, cursor));
+        }
         List<Allocation> allocations = allocationService.findByProjectId(projectId);
         return Result.success(allocations);
     }
@@ -74,6 +172,40 @@ public class AllocationController {
         return Result.success(allocation);
     }
     
+    /**
+     * 重复分配：按每天/每周规则展开后整体检测冲突并批量写入
+     */
+    @PostMapping("/recurring")
+    public Result<BatchAllocationResponse> createRecurring(@Valid @RequestBody RecurringAllocationRequest request) {
+        return Result.success(allocationBatchService.createRecurringAllocation(request));
+    }
+    
+    /**
+     * 按类别自动选择可用资源并预订
+     */
+    @PostMapping("/auto-book")
+    public Result<Allocation> autoBook(@Valid @RequestBody AutoBookRequest request) {
+        Allocation allocation = allocationService.autoBook(request);
+        return Result.success(allocation);
+    }
+    
+    /**
+     * 批量创建资源分配
+     * 整批在一个事务内校验与写入，任一条目失败则全部回滚并返回逐条结果
+     */
+    @PostMapping("/bulk")
+    public Result<BatchAllocationResponse> createBulk(@Valid @RequestBody BulkAllocationRequest request) {
+        return Result.success(allocationBatchService.createAllocations(request.getItems()));
+    }
+    
+    /**
+     * 成组预订：同一时间段同时预订多个资源，全部成功或全部回滚，返回每个成员的结果
+     */
+    @PostMapping("/gang")
+    public Result<BatchAllocationResponse> createGang(@Valid @RequestBody GangAllocationRequest request) {
+        return Result.success(allocationBatchService.createGangAllocation(request));
+    }
+    
     /**
      * 更新资源分配
      */
@@ -115,4 +247,31 @@ public class AllocationController {
 
         return Result.success(response);
     }
+
+    /**
+     * 批量冲突检测
+     * 结果按请求顺序逐条写出（统一响应结构，data 为数组），大批量时不在内存中缓存全部结果
+     */
+    @PostMapping("/check-conflict/batch")
+    public ResponseEntity<StreamingResponseBody> checkConflicts(@RequestBody List<AllocationConflictRequest> requests) {
+        allocationService.validateConflictRequests(requests);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeNumberField("code", 200);
+                generator.writeStringField("message", "操作成功");
+                generator.writeArrayFieldStart("data");
+                allocationService.checkConflicts(requests, response -> {
+                    try {
+                        objectMapper.writeValue(generator, response);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 }
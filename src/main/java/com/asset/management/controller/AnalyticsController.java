@@ -0,0 +1,37 @@
+package com.asset.management.controller;
+
+import com.asset.management.dto.Result;
+import com.asset.management.dto.UtilizationReport;
+import com.asset.management.service.UtilizationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 统计分析控制器
+ */
+@RestController
+@RequestMapping("/analytics")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    private final UtilizationService utilizationService;
+
+    /**
+     * 资源利用率统计：按资源、类别或项目汇总预订小时数、利用率、维护小时数与并发峰值
+     */
+    @GetMapping("/utilization")
+    public Result<UtilizationReport> utilization(@RequestParam
+                                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                 LocalDateTime startTime,
+                                                 @RequestParam
+                                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                 LocalDateTime endTime,
+                                                 @RequestParam(defaultValue = "RESOURCE")
+                                                 UtilizationReport.Granularity granularity) {
+        return Result.success(utilizationService.report(startTime, endTime, granularity));
+    }
+}
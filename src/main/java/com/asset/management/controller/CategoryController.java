@@ -1,5 +1,6 @@
 package com.asset.management.controller;
 
+import com.asset.management.dto.EntityCacheStats;
 import com.asset.management.dto.Result;
 import com.asset.management.entity.Category;
 import com.asset.management.service.CategoryService;
@@ -30,6 +31,14 @@ public class CategoryController {
         return Result.success(categories);
     }
     
+    /**
+     * 类别实体缓存统计（命中、未命中、淘汰、失效次数）
+     */
+    @GetMapping("/cache-stats")
+    public Result<EntityCacheStats> cacheStats() {
+        return Result.success(categoryService.cacheStats());
+    }
+    
     /**
      * 根据ID查询类别
      */
@@ -0,0 +1,51 @@
+package com.asset.management.controller;
+
+import com.asset.management.dto.ImportJob;
+import com.asset.management.dto.Result;
+import com.asset.management.service.ExportService;
+import com.asset.management.service.ImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 批量导入控制器
+ * 请求体为文件原文（CSV 或 NDJSON），提交后立即返回任务，通过 GET /imports/{id} 查询进度与被拒绝的行
+ */
+@RestController
+@RequestMapping("/imports")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ImportController {
+
+    private final ImportService importService;
+
+    @PostMapping("/allocations")
+    public Result<ImportJob> importAllocations(@RequestParam(defaultValue = "csv") String format,
+                                               @RequestParam(defaultValue = "false") boolean dryRun,
+                                               HttpServletRequest request) throws IOException {
+        return Result.success(importService.submit(ImportJob.Target.ALLOCATION,
+                ExportService.Format.of(format), dryRun, request.getInputStream()));
+    }
+
+    @PostMapping("/maintenance-windows")
+    public Result<ImportJob> importMaintenanceWindows(@RequestParam(defaultValue = "csv") String format,
+                                                      @RequestParam(defaultValue = "false") boolean dryRun,
+                                                      HttpServletRequest request) throws IOException {
+        return Result.success(importService.submit(ImportJob.Target.MAINTENANCE_WINDOW,
+                ExportService.Format.of(format), dryRun, request.getInputStream()));
+    }
+
+    @GetMapping
+    public Result<List<ImportJob>> list() {
+        return Result.success(importService.listJobs());
+    }
+
+    @GetMapping("/{id}")
+    public Result<ImportJob> get(@PathVariable String id) {
+        return Result.success(importService.getJob(id));
+    }
+}
@@ -1,16 +1,24 @@
 package com.asset.management.controller;
 
+import com.asset.management.dto.ExportFilter;
 import com.asset.management.dto.MaintenanceWindowRequest;
 import com.asset.management.dto.Result;
 import com.asset.management.entity.MaintenanceWindow;
+import com.asset.management.service.DataVersions;
+import com.asset.management.service.ExportService;
 import com.asset.management.service.MaintenanceWindowService;
+import com.asset.management.service.PageSupport;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * 维护窗口控制器
@@ -22,15 +30,32 @@ import java.util.List;
 public class MaintenanceWindowController {
 
     private final MaintenanceWindowService maintenanceWindowService;
+    private final PageSupport pageSupport;
+    private final ExportService exportService;
+    private final DataVersions dataVersions;
 
+    /**
+     * 查询维护窗口
+     * 指定时间范围时返回范围内全部窗口；否则带 limit 或 cursor 参数时键集分页
+     * 维护窗口未变化时按 If-None-Match 返回 304，不查询数据库
+     */
     @GetMapping
-    public Result<List<MaintenanceWindow>> list(@RequestParam(required = false) Long resourceId,
-                                                @RequestParam(required = false)
-                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
-                                                LocalDateTime startTime,
-                                                @RequestParam(required = false)
-                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
-                                                LocalDateTime endTime) {
+    public Result<?> list(@RequestParam(required = false) Long resourceId,
+                          @RequestParam(required = false)
+                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                          LocalDateTime startTime,
+                          @RequestParam(required = false)
+                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                          LocalDateTime endTime,
+                          @RequestParam(required = false) Integer limit,
+                          @RequestParam(required = false) String cursor,
+                          WebRequest webRequest) {
+        String etag = resourceId != null
+                ? dataVersions.resourceEtag(resourceId)
+                : dataVersions.etag(DataVersions.Scope.MAINTENANCE_WINDOWS);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         if (startTime != null && endTime != null) {
             if (resourceId != null) {
                 return Result.success(
@@ -42,12 +67,44 @@ public class MaintenanceWindowController {
         if (startTime != null || endTime != null) {
             throw new IllegalArgumentException("开始时间和结束时间不能为空");
         }
+        if (pageSupport.isPaged(limit, cursor)) {
+            return Result.success(maintenanceWindowService.findPage(resourceId, limit, cursor));
+        }
         if (resourceId != null) {
             return Result.success(maintenanceWindowService.findByResourceId(resourceId));
         }
         return Result.success(maintenanceWindowService.findAll());
     }
 
+    /**
+     * 导出维护窗口（NDJSON 或 CSV），从数据库游标逐行写出；type 为 HARD/SOFT
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime startTime,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime endTime,
+                                                        @RequestParam(required = false) Long resourceId,
+                                                        @RequestParam(required = false) String type) {
+        ExportService.Format exportFormat = ExportService.Format.of(format);
+        ExportFilter filter = new ExportFilter();
+        filter.setStartTime(startTime);
+        filter.setEndTime(endTime);
+        filter.setResourceId(resourceId);
+        filter.setStatus(type);
+        exportService.validateMaintenanceFilter(filter);
+        StreamingResponseBody body = outputStream ->
+                exportService.exportMaintenanceWindows(filter, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=maintenance-windows." + exportFormat.getExtension())
+                .body(body);
+    }
+
     @PostMapping
     public Result<MaintenanceWindow> create(@Valid @RequestBody MaintenanceWindowRequest request) {
         return Result.success(maintenanceWindowService.create(request));
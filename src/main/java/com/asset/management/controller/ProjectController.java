@@ -1,5 +1,6 @@
 package com.asset.management.controller;
 
+import com.asset.management.dto.EntityCacheStats;
 import com.asset.management.dto.Result;
 import com.asset.management.entity.Project;
 import com.asset.management.service.ProjectService;
@@ -30,6 +31,14 @@ public class ProjectController {
         return Result.success(projects);
     }
     
+    /**
+     * 项目实体缓存统计（命中、未命中、淘汰、失效次数）
+     */
+    @GetMapping("/cache-stats")
+    public Result<EntityCacheStats> cacheStats() {
+        return Result.success(projectService.cacheStats());
+    }
+    
     /**
      * 根据ID查询项目
      */
@@ -1,13 +1,22 @@
 package com.asset.management.controller;
 
+import com.asset.management.dto.EntityCacheStats;
+import com.asset.management.dto.FreeSlot;
+import com.asset.management.dto.FreeSlotResponse;
+import com.asset.management.dto.OccupancyStats;
+import com.asset.management.dto.OccupancySummary;
+import com.asset.management.dto.ResourceSchedule;
 import com.asset.management.dto.ResourceScheduleItem;
 import com.asset.management.dto.Result;
 import com.asset.management.entity.Resource;
+import com.asset.management.service.DataVersions;
+import com.asset.management.service.PageSupport;
 import com.asset.management.service.ResourceService;
 import com.asset.management.service.ResourceScheduleService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.time.LocalDateTime;
@@ -25,12 +34,24 @@ public class ResourceController {
     
     private final ResourceService resourceService;
     private final ResourceScheduleService resourceScheduleService;
+    private final PageSupport pageSupport;
+    private final DataVersions dataVersions;
     
     /**
-     * 查询所有资源
+     * 查询资源
+     * 带 limit 或 cursor 参数时按ID倒序键集分页，否则返回全部资源
+     * 资源数据未变化时按 If-None-Match 返回 304，不查询数据库（下同）
      */
     @GetMapping
-    public Result<List<Resource>> findAll() {
+    public Result<?> findAll(@RequestParam(required = false) Integer limit,
+                             @RequestParam(required = false) String cursor,
+                             WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersions.etag(DataVersions.Scope.RESOURCES))) {
+            return null;
+        }
+        if (pageSupport.isPaged(limit, cursor)) {
+            return Result.success(resourceService.findPage(limit, cursor));
+        }
         List<Resource> resources = resourceService.findAll();
         return Result.success(resources);
     }
@@ -39,7 +60,10 @@ public class ResourceController {
      * 根据ID查询资源
      */
     @GetMapping("/{id}")
-    public Result<Resource> findById(@PathVariable Long id) {
+    public Result<Resource> findById(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersions.etag(DataVersions.Scope.RESOURCES))) {
+            return null;
+        }
         Resource resource = resourceService.findById(id);
         if (resource == null) {
             return Result.error("资源不存在");
@@ -57,15 +81,122 @@ public class ResourceController {
                                                        LocalDateTime startTime,
                                                        @RequestParam
                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
-                                                       LocalDateTime endTime) {
+                                                       LocalDateTime endTime,
+                                                       WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersions.resourceEtag(id))) {
+            return null;
+        }
         return Result.success(resourceScheduleService.getSchedule(id, startTime, endTime));
     }
     
+    /**
+     * 多资源时间段视图（排期看板）：按资源ID列表或类别，一次返回各资源的有序时间轴
+     */
+    @GetMapping("/schedules")
+    public Result<List<ResourceSchedule>> schedules(@RequestParam(required = false) List<Long> resourceIds,
+                                                    @RequestParam(required = false) Long categoryId,
+                                                    @RequestParam
+                                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                    LocalDateTime startTime,
+                                                    @RequestParam
+                                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                    LocalDateTime endTime,
+                                                    WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersions.etag(DataVersions.Scope.values()))) {
+            return null;
+        }
+        return Result.success(resourceScheduleService.getSchedules(resourceIds, categoryId, startTime, endTime));
+    }
+    
+    /**
+     * 空闲时间段查询：最早可预订时间段与全部空闲区间
+     */
+    @GetMapping("/free-slots")
+    public Result<FreeSlotResponse> freeSlots(@RequestParam List<Long> resourceIds,
+                                              @RequestParam int durationMinutes,
+                                              @RequestParam
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                              LocalDateTime startTime,
+                                              @RequestParam
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                              LocalDateTime endTime,
+                                              @RequestParam(defaultValue = "false") boolean avoidSoft) {
+        return Result.success(resourceScheduleService.findFreeSlots(
+                resourceIds, durationMinutes, startTime, endTime, avoidSoft));
+    }
+    
+    /**
+     * 多个资源共同空闲的时间段（按时间槽粒度）
+     */
+    @GetMapping("/common-free")
+    public Result<List<FreeSlot>> commonFree(@RequestParam List<Long> resourceIds,
+                                             @RequestParam
+                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                             LocalDateTime startTime,
+                                             @RequestParam
+                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                             LocalDateTime endTime,
+                                             @RequestParam(defaultValue = "1") int minMinutes) {
+        return Result.success(resourceScheduleService.findCommonFree(
+                resourceIds, startTime, endTime, minMinutes));
+    }
+    
+    /**
+     * 资源占用位图内存统计
+     */
+    @GetMapping("/occupancy-stats")
+    public Result<OccupancyStats> occupancyStats() {
+        return Result.success(resourceScheduleService.occupancyStats());
+    }
+    
+    /**
+     * 资源实体缓存统计（命中、未命中、淘汰、失效次数）
+     */
+    @GetMapping("/cache-stats")
+    public Result<EntityCacheStats> cacheStats() {
+        return Result.success(resourceService.cacheStats());
+    }
+    
+    /**
+     * 资源在时间段内的占用概况
+     */
+    @GetMapping("/{id}/occupancy")
+    public Result<OccupancySummary> occupancy(@PathVariable Long id,
+                                              @RequestParam
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                              LocalDateTime startTime,
+                                              @RequestParam
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                              LocalDateTime endTime) {
+        return Result.success(resourceScheduleService.summarizeOccupancy(id, startTime, endTime));
+    }
+    
+    /**
+     * 类别下在时间段内可用的资源
+     */
+    @GetMapping("/available")
+    public Result<List<Resource>> available(@RequestParam Long categoryId,
+                                            @RequestParam
+                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                            LocalDateTime startTime,
+                                            @RequestParam
+                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                            LocalDateTime endTime,
+                                            WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersions.etag(DataVersions.Scope.values()))) {
+            return null;
+        }
+        return Result.success(resourceService.findAvailable(categoryId, startTime, endTime));
+    }
+    
     /**
      * 根据类别ID查询资源
      */
     @GetMapping("/category/{categoryId}")
-    public Result<List<Resource>> findByCategoryId(@PathVariable Long categoryId) {
+    public Result<List<Resource>> findByCategoryId(@PathVariable Long categoryId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersions.etag(DataVersions.Scope.RESOURCES))) {
+            return null;
+        }
         List<Resource> resources = resourceService.findByCategoryId(categoryId);
         return Result.success(resources);
     }
@@ -0,0 +1,42 @@
+package com.asset.management.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 按类别自动选择资源并预订的请求DTO
+ */
+@Data
+public class AutoBookRequest {
+
+    /**
+     * 资源类别ID
+     */
+    @NotNull(message = "类别ID不能为空")
+    private Long categoryId;
+
+    /**
+     * 项目ID
+     */
+    @NotNull(message = "项目ID不能为空")
+    private Long projectId;
+
+    /**
+     * 开始时间
+     */
+    @NotNull(message = "开始时间不能为空")
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    @NotNull(message = "结束时间不能为空")
+    private LocalDateTime endTime;
+
+    /**
+     * 备注
+     */
+    private String remark;
+}
@@ -0,0 +1,32 @@
+package com.asset.management.dto;
+
+import com.asset.management.entity.Allocation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量分配响应
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAllocationResponse {
+
+    /**
+     * 是否已提交（跳过冲突时被跳过的条目在 items 中标记为 CONFLICT）
+     */
+    private boolean success;
+
+    /**
+     * 已创建的分配记录（失败时为空）
+     */
+    private List<Allocation> allocations;
+
+    /**
+     * 逐条处理结果，与请求顺序一致
+     */
+    private List<BatchItemResult> items;
+}
@@ -0,0 +1,66 @@
+package com.asset.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 批量分配中单条记录的处理结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+
+    /**
+     * 条目状态
+     */
+    public enum ItemStatus {
+        /**
+         * 已创建
+         */
+        CREATED,
+
+        /**
+         * 可创建（所在批次因其他条目失败而整体回滚）
+         */
+        VALID,
+
+        /**
+         * 参数不合法（资源/项目不存在、时间非法等）
+         */
+        INVALID,
+
+        /**
+         * 硬冲突
+         */
+        CONFLICT
+    }
+
+    /**
+     * 在请求列表中的序号（从0开始）
+     */
+    private int index;
+
+    private Long resourceId;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+
+    private ItemStatus status;
+
+    /**
+     * 冲突类型（NONE/SOFT/HARD）
+     */
+    private ConflictType conflictType;
+
+    private String message;
+
+    /**
+     * 创建成功时的分配ID
+     */
+    private Long allocationId;
+}
@@ -0,0 +1,19 @@
+package com.asset.management.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量资源分配请求DTO
+ */
+@Data
+public class BulkAllocationRequest {
+
+    /**
+     * 分配条目
+     */
+    @NotEmpty(message = "分配列表不能为空")
+    private List<AllocationRequest> items;
+}
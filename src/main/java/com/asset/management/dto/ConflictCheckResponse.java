@@ -3,6 +3,8 @@ package com.asset.management.dto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
+import java.util.List;
+
 /**
  * 冲突检测响应
  */
@@ -13,4 +15,9 @@ public class ConflictCheckResponse {
     private boolean hasConflict;
     private ConflictType type;
     private String message;
+
+    /**
+     * 重叠的分配与维护窗口明细，按开始时间升序（无冲突时为空）
+     */
+    private List<ConflictDetail> conflicts;
 }
@@ -0,0 +1,50 @@
+package com.asset.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 冲突明细：与检测时间段重叠的一条分配或维护窗口
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConflictDetail {
+
+    /**
+     * 来源：ALLOCATION-分配，MAINTENANCE-维护窗口
+     */
+    private String source;
+
+    /**
+     * 分配ID或维护窗口ID
+     */
+    private Long id;
+
+    /**
+     * 项目ID（仅分配）
+     */
+    private Long projectId;
+
+    /**
+     * 冲突级别
+     */
+    private ConflictType level;
+
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    /**
+     * 与检测时间段重叠部分
+     */
+    private LocalDateTime overlapStart;
+    private LocalDateTime overlapEnd;
+
+    /**
+     * 重叠时长（分钟）
+     */
+    private long overlapMinutes;
+}
@@ -0,0 +1,37 @@
+package com.asset.management.dto;
+
+import lombok.Data;
+
+/**
+ * 实体缓存统计
+ */
+@Data
+public class EntityCacheStats {
+
+    private String name;
+    private boolean enabled;
+
+    /**
+     * 当前缓存条数（估算值）
+     */
+    private long size;
+
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+
+    /**
+     * 因容量或存活时间淘汰的条数
+     */
+    private long evictionCount;
+
+    /**
+     * 因写操作失效的条数
+     */
+    private long invalidationCount;
+
+    /**
+     * 未命中时查询数据库的平均耗时（毫秒）
+     */
+    private double averageLoadMillis;
+}
@@ -0,0 +1,30 @@
+package com.asset.management.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 导出过滤条件，各项均可选
+ */
+@Data
+public class ExportFilter {
+
+    /**
+     * 时间范围：导出与 [startTime, endTime) 重叠的记录，需同时指定
+     */
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    private Long resourceId;
+
+    /**
+     * 项目ID（仅分配记录）
+     */
+    private Long projectId;
+
+    /**
+     * 分配状态（ACTIVE/COMPLETED/CANCELLED）或维护窗口类型（HARD/SOFT）
+     */
+    private String status;
+}
@@ -0,0 +1,25 @@
+package com.asset.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 资源空闲时间段
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlot {
+
+    private Long resourceId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    /**
+     * 是否与软维护窗口重叠（可预订，但建议避开）
+     */
+    private boolean softConflict;
+}
@@ -0,0 +1,26 @@
+package com.asset.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 空闲时间段查询结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotResponse {
+
+    /**
+     * 每个资源最早可预订的时间段（长度为所需时长），按开始时间升序，第一条即全局最早
+     */
+    private List<FreeSlot> earliestSlots;
+
+    /**
+     * 不短于所需时长的全部空闲区间，按请求中的资源顺序、开始时间升序
+     */
+    private List<FreeSlot> gaps;
+}
@@ -0,0 +1,44 @@
+package com.asset.management.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 成组预订请求DTO：同一时间段同时预订多个资源
+ */
+@Data
+public class GangAllocationRequest {
+
+    /**
+     * 资源ID列表
+     */
+    @NotEmpty(message = "资源列表不能为空")
+    private List<Long> resourceIds;
+
+    /**
+     * 项目ID
+     */
+    @NotNull(message = "项目ID不能为空")
+    private Long projectId;
+
+    /**
+     * 开始时间
+     */
+    @NotNull(message = "开始时间不能为空")
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    @NotNull(message = "结束时间不能为空")
+    private LocalDateTime endTime;
+
+    /**
+     * 备注
+     */
+    private String remark;
+}
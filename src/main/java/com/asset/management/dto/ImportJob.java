@@ -0,0 +1,90 @@
+package com.asset.management.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 批量导入任务及进度
+ * 由导入线程更新、查询接口读取，计数字段为 volatile
+ */
+@Data
+public class ImportJob {
+
+    /**
+     * 导入对象
+     */
+    public enum Target {
+        ALLOCATION,
+        MAINTENANCE_WINDOW
+    }
+
+    /**
+     * 任务状态
+     */
+    public enum Status {
+        /**
+         * 排队等待
+         */
+        QUEUED,
+
+        /**
+         * 解析与校验（分配导入同时检测冲突）
+         */
+        VALIDATING,
+
+        /**
+         * 分块写入
+         */
+        WRITING,
+
+        COMPLETED,
+
+        FAILED
+    }
+
+    private String id;
+    private Target target;
+    private String format;
+
+    /**
+     * 试运行：只校验并报告被拒绝的行，不写入
+     */
+    private boolean dryRun;
+
+    private volatile Status status = Status.QUEUED;
+
+    /**
+     * 已读取的数据行数
+     */
+    private volatile long rowsRead;
+
+    /**
+     * 通过校验与冲突检测的行数
+     */
+    private volatile long rowsAccepted;
+
+    private volatile long rowsRejected;
+
+    private volatile long rowsWritten;
+
+    private volatile long chunksCommitted;
+
+    private volatile String message;
+
+    private LocalDateTime createdTime;
+    private volatile LocalDateTime startedTime;
+    private volatile LocalDateTime finishedTime;
+
+    /**
+     * 被拒绝的行（按发现顺序，数量有上限）
+     */
+    private List<ImportRejection> rejected = new CopyOnWriteArrayList<>();
+
+    /**
+     * 被拒绝的行超出明细上限，rejected 不完整
+     */
+    private volatile boolean rejectedTruncated;
+}
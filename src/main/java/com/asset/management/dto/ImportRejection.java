@@ -0,0 +1,21 @@
+package com.asset.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 导入时被拒绝的行
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRejection {
+
+    /**
+     * 文件中的行号（从 1 开始，CSV 表头为第 1 行）
+     */
+    private long line;
+
+    private String reason;
+}
@@ -0,0 +1,34 @@
+package com.asset.management.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 资源占用位图内存统计
+ */
+@Data
+public class OccupancyStats {
+
+    private boolean enabled;
+    private int slotMinutes;
+
+    /**
+     * 位图覆盖的时间窗口
+     */
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+
+    /**
+     * 已构建位图的资源数
+     */
+    private int resources;
+
+    /**
+     * 全部位图占用的字节数
+     */
+    private long sizeInBytes;
+
+    private long hardSlots;
+    private long softSlots;
+}
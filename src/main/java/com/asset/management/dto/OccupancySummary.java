@@ -0,0 +1,46 @@
+package com.asset.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 单个资源在时间范围内的占用概况（按时间槽统计）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancySummary {
+
+    private Long resourceId;
+
+    /**
+     * 时间槽粒度（分钟）
+     */
+    private int slotMinutes;
+
+    /**
+     * 范围内的时间槽数
+     */
+    private long totalSlots;
+
+    /**
+     * 被ACTIVE分配或硬维护窗口占用的时间槽数
+     */
+    private long hardSlots;
+
+    /**
+     * 被软维护窗口占用的时间槽数
+     */
+    private long softSlots;
+
+    /**
+     * 占用率（hardSlots / totalSlots）
+     */
+    private double utilization;
+
+    /**
+     * 按时间槽判定的冲突类型（起止未对齐时间槽时偏保守）
+     */
+    private ConflictType conflictType;
+}
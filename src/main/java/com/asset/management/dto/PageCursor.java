@@ -0,0 +1,48 @@
+package com.asset.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 键集分页游标：上一页最后一条记录的排序键（开始时间, ID），编码为不透明字符串返回给前端
+ * 按ID排序的列表只使用 id
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageCursor {
+
+    private LocalDateTime startTime;
+    private Long id;
+
+    public String encode() {
+        String raw = (startTime == null ? "" : startTime.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException 游标不是本接口返回的格式
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("分页游标无效");
+            }
+            String time = raw.substring(0, separator);
+            return new PageCursor(
+                    time.isEmpty() ? null : LocalDateTime.parse(time),
+                    Long.valueOf(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("分页游标无效", e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.asset.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 键集分页结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResult<T> {
+
+    private List<T> items;
+
+    /**
+     * 下一页游标，作为 cursor 参数传回；没有更多数据时为 null
+     */
+    private String nextCursor;
+
+    private boolean hasMore;
+}
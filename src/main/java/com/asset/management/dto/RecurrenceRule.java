@@ -0,0 +1,54 @@
+package com.asset.management.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * 重复规则
+ * until 与 count 至少指定一个，同时指定时先到者为准
+ */
+@Data
+public class RecurrenceRule {
+
+    /**
+     * 重复频率
+     */
+    @NotNull(message = "重复频率不能为空")
+    private Frequency frequency;
+
+    /**
+     * 间隔（每 N 天 / 每 N 周），默认 1
+     */
+    private Integer interval;
+
+    /**
+     * 每周重复的星期（仅 WEEKLY），为空时取首次开始时间所在的星期
+     */
+    private Set<DayOfWeek> daysOfWeek;
+
+    /**
+     * 截止时间（含），晚于该时间开始的重复不再生成
+     */
+    private LocalDateTime until;
+
+    /**
+     * 重复次数（含首次）
+     */
+    private Integer count;
+
+    public enum Frequency {
+        /**
+         * 按天重复
+         */
+        DAILY,
+
+        /**
+         * 按周重复
+         */
+        WEEKLY
+    }
+}
@@ -0,0 +1,55 @@
+package com.asset.management.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 重复分配请求DTO
+ */
+@Data
+public class RecurringAllocationRequest {
+
+    /**
+     * 资源ID
+     */
+    @NotNull(message = "资源ID不能为空")
+    private Long resourceId;
+
+    /**
+     * 项目ID
+     */
+    @NotNull(message = "项目ID不能为空")
+    private Long projectId;
+
+    /**
+     * 首次开始时间
+     */
+    @NotNull(message = "开始时间不能为空")
+    private LocalDateTime startTime;
+
+    /**
+     * 首次结束时间
+     */
+    @NotNull(message = "结束时间不能为空")
+    private LocalDateTime endTime;
+
+    /**
+     * 备注
+     */
+    private String remark;
+
+    /**
+     * 重复规则
+     */
+    @Valid
+    @NotNull(message = "重复规则不能为空")
+    private RecurrenceRule recurrence;
+
+    /**
+     * 是否跳过冲突的重复（false 时任一重复冲突则整个系列不提交）
+     */
+    private boolean skipConflicts;
+}
@@ -0,0 +1,20 @@
+package com.asset.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 单个资源的查询时间范围 [startTime, endTime)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceRange {
+
+    private Long resourceId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
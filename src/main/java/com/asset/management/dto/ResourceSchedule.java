@@ -0,0 +1,24 @@
+package com.asset.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 单个资源的时间段视图（多资源排期看板的一行）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceSchedule {
+
+    private Long resourceId;
+    private String resourceName;
+
+    /**
+     * 按开始时间升序的分配与维护窗口
+     */
+    private List<ResourceScheduleItem> items;
+}
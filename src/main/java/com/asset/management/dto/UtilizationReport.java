@@ -0,0 +1,38 @@
+package com.asset.management.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 资源利用率统计报表
+ */
+@Data
+public class UtilizationReport {
+
+    /**
+     * 统计维度
+     */
+    public enum Granularity {
+        RESOURCE,
+        CATEGORY,
+        PROJECT
+    }
+
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Granularity granularity;
+
+    /**
+     * 参与统计的分配记录数（与时间范围重叠的 ACTIVE、COMPLETED 分配）
+     */
+    private long totalAllocations;
+
+    /**
+     * 报表生成时间（命中缓存时为首次计算的时间）
+     */
+    private LocalDateTime generatedTime;
+
+    private List<UtilizationRow> rows;
+}
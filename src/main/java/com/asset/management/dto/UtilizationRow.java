@@ -0,0 +1,48 @@
+package com.asset.management.dto;
+
+import lombok.Data;
+
+/**
+ * 利用率统计行（一个资源、类别或项目）
+ */
+@Data
+public class UtilizationRow {
+
+    /**
+     * 资源ID、类别ID或项目ID
+     */
+    private Long id;
+    private String name;
+
+    /**
+     * 资源数：类别下的资源数；按项目统计时为项目使用过的资源数
+     */
+    private int resourceCount;
+
+    private long allocationCount;
+
+    /**
+     * 已预订小时数（分配裁剪到统计范围内）
+     */
+    private double bookedHours;
+
+    /**
+     * 维护窗口小时数（硬、软维护合计）
+     */
+    private double maintenanceHours;
+
+    /**
+     * 可用小时数：资源数 × 范围小时数 - 硬维护小时数；按项目统计时为全部资源的可用小时数
+     */
+    private double availableHours;
+
+    /**
+     * 利用率百分比（bookedHours / availableHours × 100）
+     */
+    private double utilization;
+
+    /**
+     * 同时生效的分配数峰值
+     */
+    private int peakConcurrency;
+}
@@ -0,0 +1,45 @@
+package com.asset.management.dto;
+
+import lombok.Data;
+
+/**
+ * 分配写入统计（用于对比不同写入方式）
+ */
+@Data
+public class WriteMetricsResponse {
+
+    /**
+     * 当前写入方式
+     */
+    private String writeMode;
+
+    /**
+     * 成功的写入次数
+     */
+    private long committed;
+
+    /**
+     * 因冲突被拒绝的写入次数
+     */
+    private long conflicts;
+
+    /**
+     * 版本号不一致后的重试次数（OPTIMISTIC 模式）
+     */
+    private long retries;
+
+    /**
+     * 重试用尽仍失败的写入次数（OPTIMISTIC 模式）
+     */
+    private long retriesExhausted;
+
+    /**
+     * 写入平均耗时（毫秒，含重试）
+     */
+    private double averageMillis;
+
+    /**
+     * 写入最大耗时（毫秒，含重试）
+     */
+    private double maxMillis;
+}
@@ -36,6 +36,16 @@ public class Resource {
      */
     private String description;
     
+    /**
+     * 版本号（资源信息或日程变化时递增）
+     */
+    private Long version;
+    
+    /**
+     * 日程版本号（分配写入时比较并递增）
+     */
+    private Long scheduleVersion;
+    
     /**
      * 创建时间
      */
@@ -0,0 +1,25 @@
+package com.asset.management.exception;
+
+import com.asset.management.dto.BatchAllocationResponse;
+import lombok.Getter;
+
+/**
+ * 批量分配失败异常
+ * 携带逐条处理结果，整批回滚
+ */
+@Getter
+public class BatchAllocationException extends RuntimeException {
+
+    /**
+     * 响应码：存在冲突时为409，否则为400
+     */
+    private final int code;
+
+    private final BatchAllocationResponse response;
+
+    public BatchAllocationException(int code, String message, BatchAllocationResponse response) {
+        super(message);
+        this.code = code;
+        this.response = response;
+    }
+}
@@ -1,12 +1,22 @@
 package com.asset.management.exception;
 
+import com.asset.management.dto.BatchAllocationResponse;
+import com.asset.management.dto.ConflictDetail;
 import com.asset.management.dto.Result;
+import org.mybatis.spring.MyBatisSystemException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.BindException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+
 /**
  * 全局异常处理器
  * 
@@ -19,8 +29,24 @@ public class GlobalExceptionHandler {
      * 处理资源冲突异常
      */
     @ExceptionHandler(ResourceConflictException.class)
-    public Result<Void> handleResourceConflictException(ResourceConflictException e) {
-        return Result.error(409, e.getMessage());
+    public Result<List<ConflictDetail>> handleResourceConflictException(ResourceConflictException e) {
+        return new Result<>(409, e.getMessage(), e.getConflicts());
+    }
+    
+    /**
+     * 处理并发加锁失败（死锁回滚、锁等待超时），按冲突返回以便调用方重试
+     */
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public Result<Void> handlePessimisticLockingFailureException(PessimisticLockingFailureException e) {
+        return Result.error(409, "资源正被并发修改，请稍后重试");
+    }
+    
+    /**
+     * 处理批量分配异常（返回逐条结果）
+     */
+    @ExceptionHandler(BatchAllocationException.class)
+    public Result<BatchAllocationResponse> handleBatchAllocationException(BatchAllocationException e) {
+        return new Result<>(e.getCode(), e.getMessage(), e.getResponse());
     }
     
     /**
@@ -54,6 +80,20 @@ public class GlobalExceptionHandler {
         return Result.error(400, "数据约束失败，请检查输入数据");
     }
     
+    /**
+     * 处理获取数据库连接失败（数据库隔板等待超时时返回系统繁忙）
+     */
+    @ExceptionHandler({CannotGetJdbcConnectionException.class, CannotCreateTransactionException.class,
+            TransientDataAccessResourceException.class, MyBatisSystemException.class})
+    public Result<Void> handleConnectionException(Exception e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return Result.error(503, "系统繁忙，请稍后重试");
+            }
+        }
+        return handleException(e);
+    }
+
     /**
      * 处理其他异常
      */
@@ -1,5 +1,9 @@
 package com.asset.management.exception;
 
+import com.asset.management.dto.ConflictDetail;
+
+import java.util.List;
+
 /**
  * 资源冲突异常
  * 当资源分配时间段冲突时抛出此异常
@@ -8,12 +12,27 @@ package com.asset.management.exception;
  */
 public class ResourceConflictException extends RuntimeException {
     
+    /**
+     * 冲突明细（可为空）
+     */
+    private final List<ConflictDetail> conflicts;
+    
     public ResourceConflictException(String message) {
-        super(message);
+        this(message, (List<ConflictDetail>) null);
     }
     
     public ResourceConflictException(String message, Throwable cause) {
         super(message, cause);
+        this.conflicts = null;
+    }
+    
+    public ResourceConflictException(String message, List<ConflictDetail> conflicts) {
+        super(message);
+        this.conflicts = conflicts;
+    }
+    
+    public List<ConflictDetail> getConflicts() {
+        return conflicts;
     }
 }
 
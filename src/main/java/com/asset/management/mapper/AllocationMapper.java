@@ -1,10 +1,15 @@
 package com.asset.management.mapper;
 
+import com.asset.management.dto.ExportFilter;
+import com.asset.management.dto.PageCursor;
+import com.asset.management.dto.ResourceRange;
 import com.asset.management.entity.Allocation;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,6 +25,20 @@ public interface AllocationMapper {
      */
     List<Allocation> findAll();
     
+    /**
+     * 键集分页查询分配记录，按开始时间、ID倒序，从游标之后开始
+     *
+     * @param cursor 上一页最后一条记录，为 null 时查询第一页
+     * @param resourceId 可选，按资源过滤
+     * @param projectId 可选，按项目过滤
+     */
+    List<Allocation> findPage(
+            @Param("cursor") PageCursor cursor,
+            @Param("resourceId") Long resourceId,
+            @Param("projectId") Long projectId,
+            @Param("limit") int limit
+    );
+    
     /**
      * 根据ID查询分配记录
      */
@@ -39,11 +58,49 @@ public interface AllocationMapper {
             @Param("endTime") LocalDateTime endTime
     );
     
+    /**
+     * 一次查询多个资源在时间范围内的ACTIVE分配记录
+     */
+    List<Allocation> findByResourceIdsAndRange(
+            @Param("resourceIds") Collection<Long> resourceIds,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime
+    );
+    
+    /**
+     * 一次查询多个资源各自时间范围内的ACTIVE分配记录，按 (资源ID, 开始时间) 排序
+     */
+    List<Allocation> findByResourceRanges(@Param("ranges") Collection<ResourceRange> ranges);
+    
+    /**
+     * 逐行读取与时间范围重叠的未取消分配记录（ACTIVE、COMPLETED），按开始时间升序
+     * 返回游标，需在事务内遍历，不会把结果整体加载到内存
+     */
+    Cursor<Allocation> streamByRange(
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime
+    );
+    
+    /**
+     * 按过滤条件逐行读取分配记录（导出），按ID升序，需在事务内遍历
+     */
+    Cursor<Allocation> streamForExport(@Param("filter") ExportFilter filter);
+    
+    /**
+     * 查询资源全部生效中的分配记录（用于加载内存时间轴）
+     */
+    List<Allocation> findActiveByResourceId(@Param("resourceId") Long resourceId);
+    
     /**
      * 根据项目ID查询分配记录
      */
     List<Allocation> findByProjectId(@Param("projectId") Long projectId);
     
+    /**
+     * 项目的分配涉及的资源ID（去重）
+     */
+    List<Long> findResourceIdsByProjectId(@Param("projectId") Long projectId);
+    
     /**
      * 查询时间段内有冲突的分配记录（核心方法）
      * 用于检测资源在指定时间段是否已被分配
@@ -70,11 +127,31 @@ public interface AllocationMapper {
             @Param("excludeId") Long excludeId
     );
     
+    /**
+     * 批量检测：返回与生效分配（includeWindows 时还有硬维护窗口）重叠的条目在列表中的下标
+     */
+    List<Integer> findConflictingIndexes(
+            @Param("allocations") List<Allocation> allocations,
+            @Param("includeWindows") boolean includeWindows
+    );
+    
     /**
      * 插入分配记录
      */
     int insert(Allocation allocation);
     
+    /**
+     * 条件插入：资源与项目存在且时间段内无生效分配、无硬维护窗口时才插入
+     * 
+     * @return 影响行数，0 表示未插入（资源/项目不存在或存在硬冲突）
+     */
+    int insertIfNoConflict(Allocation allocation);
+    
+    /**
+     * 批量插入分配记录（单条多值INSERT，回填自增ID）
+     */
+    int insertBatch(List<Allocation> allocations);
+    
     /**
      * 更新分配记录
      */
@@ -0,0 +1,28 @@
+package com.asset.management.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 分配时间槽Mapper接口
+ */
+@Mapper
+public interface AllocationSlotMapper {
+
+    /**
+     * 认领时间槽，任一时间槽已被占用时违反主键约束
+     */
+    int insertSlots(
+            @Param("resourceId") Long resourceId,
+            @Param("allocationId") Long allocationId,
+            @Param("slots") List<LocalDateTime> slots
+    );
+
+    /**
+     * 释放分配占用的全部时间槽
+     */
+    int deleteByAllocationId(@Param("allocationId") Long allocationId);
+}
@@ -1,10 +1,15 @@
 package com.asset.management.mapper;
 
+import com.asset.management.dto.ExportFilter;
+import com.asset.management.dto.PageCursor;
+import com.asset.management.dto.ResourceRange;
 import com.asset.management.entity.MaintenanceWindow;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,12 +24,34 @@ public interface MaintenanceWindowMapper {
 
     List<MaintenanceWindow> findAll();
 
+    /**
+     * 键集分页，按开始时间、ID倒序；resourceId 可选
+     */
+    List<MaintenanceWindow> findPage(
+            @Param("cursor") PageCursor cursor,
+            @Param("resourceId") Long resourceId,
+            @Param("limit") int limit
+    );
+
+    /**
+     * 按过滤条件逐行读取维护窗口（导出），按ID升序，需在事务内遍历；status 对应窗口类型
+     */
+    Cursor<MaintenanceWindow> streamForExport(@Param("filter") ExportFilter filter);
+
     List<MaintenanceWindow> findByResourceAndRange(
             @Param("resourceId") Long resourceId,
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime
     );
 
+    List<MaintenanceWindow> findByResourcesAndRange(
+            @Param("resourceIds") Collection<Long> resourceIds,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime
+    );
+
+    List<MaintenanceWindow> findByResourceRanges(@Param("ranges") Collection<ResourceRange> ranges);
+
     List<MaintenanceWindow> findAllByRange(
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime
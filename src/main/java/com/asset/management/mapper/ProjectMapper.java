@@ -4,6 +4,7 @@ import com.asset.management.entity.Project;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -24,6 +25,11 @@ public interface ProjectMapper {
      */
     Project findById(@Param("id") Long id);
     
+    /**
+     * 根据ID集合批量查询项目
+     */
+    List<Project> findByIds(@Param("ids") Collection<Long> ids);
+    
     /**
      * 插入项目
      */
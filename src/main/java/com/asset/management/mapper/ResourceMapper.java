@@ -4,6 +4,8 @@ import com.asset.management.entity.Resource;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,21 +21,44 @@ public interface ResourceMapper {
      */
     List<Resource> findAll();
     
+    /**
+     * 键集分页查询资源，按ID倒序，查询ID小于 afterId 的记录（为 null 时查询第一页）
+     */
+    List<Resource> findPage(@Param("afterId") Long afterId, @Param("limit") int limit);
+    
     /**
      * 根据ID查询资源
      */
     Resource findById(@Param("id") Long id);
+    
+    /**
+     * 根据ID批量查询资源
+     */
+    List<Resource> findByIds(@Param("ids") Collection<Long> ids);
 
     /**
      * 根据ID锁定资源记录（用于分配并发控制）
      */
     Resource lockById(@Param("id") Long id);
     
+    /**
+     * 按ID升序批量锁定资源记录（批量分配时保证加锁顺序一致，避免死锁）
+     */
+    List<Resource> lockByIds(@Param("ids") Collection<Long> ids);
+    
     /**
      * 根据类别ID查询资源
      */
     List<Resource> findByCategoryId(@Param("categoryId") Long categoryId);
     
+    /**
+     * 查询类别下在时间段内可用的资源（状态可用、无ACTIVE分配、无硬维护窗口），
+     * 与软维护窗口重叠的资源排在后面
+     */
+    List<Resource> findAvailableByCategory(@Param("categoryId") Long categoryId,
+                                           @Param("startTime") LocalDateTime startTime,
+                                           @Param("endTime") LocalDateTime endTime);
+    
     /**
      * 插入资源
      */
@@ -44,6 +69,18 @@ public interface ResourceMapper {
      */
     int update(Resource resource);
     
+    /**
+     * 日程版本号比较并递增（乐观并发控制）
+     *
+     * @return 更新行数，0 表示版本号已被其他事务修改
+     */
+    int compareAndIncrementScheduleVersion(@Param("id") Long id, @Param("expectedVersion") Long expectedVersion);
+    
+    /**
+     * 递增日程版本号（已持有资源行锁的写入，使并发的乐观写入感知到日程变化）
+     */
+    int incrementScheduleVersions(@Param("ids") Collection<Long> ids);
+    
     /**
      * 删除资源
      */
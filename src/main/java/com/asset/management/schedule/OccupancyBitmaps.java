@@ -0,0 +1,256 @@
+package com.asset.management.schedule;
+
+import com.asset.management.config.SchedulingProperties;
+import com.asset.management.dto.ConflictType;
+import com.asset.management.dto.FreeSlot;
+import com.asset.management.dto.OccupancyStats;
+import com.asset.management.dto.OccupancySummary;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 资源占用位图
+ *
+ * 时间按固定粒度切成时间槽（槽号为自 1970-01-01 起的序号），每个资源两张压缩位图：
+ * hard 标记ACTIVE分配与硬维护窗口占用的槽，soft 标记软维护窗口占用的槽，区间起止向外取整到槽边界。
+ * 位图由内存索引的时间轴派生：首次使用时整体构建，之后随索引变更回调只重算受影响的槽范围
+ * （先清空再按仍然重叠的区间置位），重叠区间被删除时不会误清其他区间的占用。
+ * 只覆盖启动时确定的 [今天 - pastDays, 今天 + futureDays) 窗口，单个资源的位图大小有上限。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OccupancyBitmaps implements ScheduleIndex.ChangeListener {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final ScheduleIndex scheduleIndex;
+    private final SchedulingProperties schedulingProperties;
+
+    private final Map<Long, ResourceOccupancy> occupancies = new ConcurrentHashMap<>();
+
+    private long slotMillis;
+    private long windowStart;
+    private long windowEnd;
+
+    @PostConstruct
+    void init() {
+        SchedulingProperties.Bitmap config = schedulingProperties.getBitmap();
+        if (config.getSlotMinutes() <= 0 || MINUTES_PER_DAY % config.getSlotMinutes() != 0) {
+            throw new IllegalStateException("时间槽粒度必须能整除一天的分钟数: " + config.getSlotMinutes());
+        }
+        slotMillis = config.getSlotMinutes() * 60_000L;
+        LocalDate today = LocalDate.now();
+        windowStart = slotFloor(ScheduleInterval.toMillis(today.minusDays(config.getPastDays()).atStartOfDay()));
+        windowEnd = slotFloor(ScheduleInterval.toMillis(today.plusDays(config.getFutureDays()).atStartOfDay()));
+        if (config.isEnabled()) {
+            scheduleIndex.addListener(this);
+        }
+    }
+
+    public boolean isEnabled() {
+        return schedulingProperties.getBitmap().isEnabled();
+    }
+
+    /**
+     * 资源在时间范围内的占用概况
+     */
+    public OccupancySummary summarize(Long resourceId, LocalDateTime startTime, LocalDateTime endTime) {
+        long[] range = slotRange(startTime, endTime, false);
+        ResourceOccupancy occupancy = occupancy(resourceId);
+        long total = range[1] - range[0];
+        long hardSlots;
+        long softSlots;
+        synchronized (occupancy) {
+            hardSlots = occupancy.hard.rangeCardinality(range[0], range[1]);
+            softSlots = occupancy.soft.rangeCardinality(range[0], range[1]);
+        }
+        ConflictType conflictType = hardSlots > 0 ? ConflictType.HARD
+                : softSlots > 0 ? ConflictType.SOFT
+                : ConflictType.NONE;
+        return new OccupancySummary(resourceId, schedulingProperties.getBitmap().getSlotMinutes(),
+                total, hardSlots, softSlots, total == 0 ? 0 : (double) hardSlots / total, conflictType);
+    }
+
+    /**
+     * 多个资源共同空闲的时间段：各资源 hard 位图求并，在范围内取补集后按连续槽输出
+     *
+     * @param minMinutes 最短时长（分钟），不足的空闲段不返回
+     */
+    public List<FreeSlot> findCommonFree(List<Long> resourceIds,
+                                         LocalDateTime startTime,
+                                         LocalDateTime endTime,
+                                         int minMinutes) {
+        if (resourceIds == null || resourceIds.isEmpty()) {
+            throw new IllegalArgumentException("资源ID不能为空");
+        }
+        long[] range = slotRange(startTime, endTime, true);
+        RoaringBitmap busy = new RoaringBitmap();
+        RoaringBitmap soft = new RoaringBitmap();
+        for (Long resourceId : new LinkedHashSet<>(resourceIds)) {
+            ResourceOccupancy occupancy = occupancy(resourceId);
+            synchronized (occupancy) {
+                busy.or(occupancy.hard);
+                soft.or(occupancy.soft);
+            }
+        }
+        RoaringBitmap free = RoaringBitmap.bitmapOfRange(range[0], range[1]);
+        free.andNot(busy);
+
+        long minSlots = Math.max(1, -Math.floorDiv(-minMinutes * 60_000L, slotMillis));
+        List<FreeSlot> slots = new ArrayList<>();
+        long next = free.nextValue((int) range[0]);
+        while (next >= 0) {
+            long absent = free.nextAbsentValue((int) next);
+            if (absent - next >= minSlots) {
+                slots.add(new FreeSlot(
+                        null,
+                        ScheduleInterval.toDateTime(next * slotMillis),
+                        ScheduleInterval.toDateTime(absent * slotMillis),
+                        soft.intersects(next, absent)
+                ));
+            }
+            if (absent >= range[1]) {
+                break;
+            }
+            next = free.nextValue((int) absent);
+        }
+        return slots;
+    }
+
+    public OccupancyStats stats() {
+        OccupancyStats stats = new OccupancyStats();
+        stats.setEnabled(isEnabled());
+        stats.setSlotMinutes(schedulingProperties.getBitmap().getSlotMinutes());
+        stats.setWindowStart(ScheduleInterval.toDateTime(windowStart * slotMillis));
+        stats.setWindowEnd(ScheduleInterval.toDateTime(windowEnd * slotMillis));
+        long bytes = 0;
+        long hardSlots = 0;
+        long softSlots = 0;
+        for (ResourceOccupancy occupancy : occupancies.values()) {
+            synchronized (occupancy) {
+                bytes += occupancy.hard.getLongSizeInBytes() + occupancy.soft.getLongSizeInBytes();
+                hardSlots += occupancy.hard.getLongCardinality();
+                softSlots += occupancy.soft.getLongCardinality();
+            }
+        }
+        stats.setResources(occupancies.size());
+        stats.setSizeInBytes(bytes);
+        stats.setHardSlots(hardSlots);
+        stats.setSoftSlots(softSlots);
+        return stats;
+    }
+
+    @Override
+    public void onScheduleChanged(Long resourceId, ResourceTimeline timeline, long start, long end) {
+        occupancies.computeIfPresent(resourceId, (key, occupancy) -> {
+            long from = Math.max(slotFloor(start), windowStart);
+            long to = Math.min(slotCeil(end), windowEnd);
+            if (from < to) {
+                occupancy.refresh(from, to, timeline.findOverlaps(from * slotMillis, to * slotMillis, null));
+            }
+            return occupancy;
+        });
+    }
+
+    @Override
+    public void onResourceEvicted(Long resourceId) {
+        occupancies.remove(resourceId);
+    }
+
+    /**
+     * 资源的占用位图；时间轴未进入索引（事务内加载）时只临时构建，不缓存
+     */
+    private ResourceOccupancy occupancy(Long resourceId) {
+        if (!isEnabled()) {
+            throw new IllegalArgumentException("资源占用位图未启用");
+        }
+        if (resourceId == null) {
+            throw new IllegalArgumentException("资源ID不能为空");
+        }
+        ResourceOccupancy cached = occupancies.get(resourceId);
+        if (cached != null) {
+            return cached;
+        }
+        ResourceTimeline timeline = scheduleIndex.timelineOf(resourceId);
+        if (!scheduleIndex.isLoaded(resourceId)) {
+            return build(timeline);
+        }
+        // 在映射锁内读取时间轴快照：之后的变更回调会等待构建完成再作用到新位图上
+        return occupancies.computeIfAbsent(resourceId, key -> build(timeline));
+    }
+
+    private ResourceOccupancy build(ResourceTimeline timeline) {
+        ResourceOccupancy occupancy = new ResourceOccupancy();
+        occupancy.refresh(windowStart, windowEnd, timeline.intervals());
+        log.debug("构建资源占用位图: 区间数={}, 字节数={}", timeline.size(),
+                occupancy.hard.getLongSizeInBytes() + occupancy.soft.getLongSizeInBytes());
+        return occupancy;
+    }
+
+    /**
+     * 查询范围对应的槽号范围 [from, to)
+     *
+     * @param inner true 时只取完全落在范围内的槽（求空闲），否则向外取整（求占用）
+     */
+    private long[] slotRange(LocalDateTime startTime, LocalDateTime endTime, boolean inner) {
+        if (startTime == null || endTime == null) {
+            throw new IllegalArgumentException("开始时间和结束时间不能为空");
+        }
+        if (!endTime.isAfter(startTime)) {
+            throw new IllegalArgumentException("结束时间必须大于开始时间");
+        }
+        long start = ScheduleInterval.toMillis(startTime);
+        long end = ScheduleInterval.toMillis(endTime);
+        long from = inner ? slotCeil(start) : slotFloor(start);
+        long to = inner ? slotFloor(end) : slotCeil(end);
+        if (from < windowStart || to > windowEnd) {
+            throw new IllegalArgumentException(String.format("查询范围超出占用位图窗口 [%s ~ %s)",
+                    ScheduleInterval.toDateTime(windowStart * slotMillis),
+                    ScheduleInterval.toDateTime(windowEnd * slotMillis)));
+        }
+        return new long[]{from, Math.max(from, to)};
+    }
+
+    private long slotFloor(long millis) {
+        return Math.floorDiv(millis, slotMillis);
+    }
+
+    private long slotCeil(long millis) {
+        return -Math.floorDiv(-millis, slotMillis);
+    }
+
+    private final class ResourceOccupancy {
+
+        private final RoaringBitmap hard = new RoaringBitmap();
+        private final RoaringBitmap soft = new RoaringBitmap();
+
+        /**
+         * 按仍与 [from, to) 重叠的区间重算该范围
+         */
+        private synchronized void refresh(long from, long to, List<ScheduleInterval> overlaps) {
+            hard.remove(from, to);
+            soft.remove(from, to);
+            for (ScheduleInterval interval : overlaps) {
+                long start = Math.max(slotFloor(interval.getStart()), from);
+                long end = Math.min(slotCeil(interval.getEnd()), to);
+                if (start < end) {
+                    (interval.getLevel() == ConflictType.HARD ? hard : soft).add(start, end);
+                }
+            }
+            hard.runOptimize();
+            soft.runOptimize();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.asset.management.schedule;
+
+import com.asset.management.dto.ConflictType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 单个资源的时间轴
+ *
+ * 区间按开始时间排序存放在数组快照中，读操作无锁（volatile 快照），
+ * 写操作加锁后整体替换快照（写少读多）。
+ * 查询时记录最长区间长度 maxLength，开始时间早于 queryStart - maxLength 的区间不可能重叠，
+ * 因此只需二分定位后向前扫描有限个元素。
+ */
+public class ResourceTimeline {
+
+    private static final Comparator<ScheduleInterval> ORDER =
+            Comparator.comparingLong(ScheduleInterval::getStart)
+                    .thenComparing(ScheduleInterval::getKind)
+                    .thenComparing(ScheduleInterval::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private volatile Snapshot snapshot;
+
+    public ResourceTimeline(Collection<ScheduleInterval> intervals) {
+        this.snapshot = Snapshot.build(new ArrayList<>(intervals));
+    }
+
+    /**
+     * 查询与 [start, end) 重叠的区间，按开始时间升序返回
+     *
+     * @param excludeAllocationId 需要排除的分配ID（更新时排除自身），可为空
+     */
+    public List<ScheduleInterval> findOverlaps(long start, long end, Long excludeAllocationId) {
+        Snapshot current = snapshot;
+        List<ScheduleInterval> result = new ArrayList<>();
+        int upper = current.firstStartAtOrAfter(end);
+        long lowerBound = start - current.maxLength;
+        for (int i = upper - 1; i >= 0 && current.starts[i] > lowerBound; i--) {
+            if (current.ends[i] > start
+                    && !current.items[i].sameEntry(ScheduleInterval.Kind.ALLOCATION, excludeAllocationId)) {
+                result.add(current.items[i]);
+            }
+        }
+        if (result.size() > 1) {
+            result.sort(ORDER);
+        }
+        return result;
+    }
+
+    /**
+     * 判定冲突类型：ACTIVE分配或硬维护窗口为硬冲突，仅软维护窗口为软冲突
+     */
+    public ConflictType detectConflictType(long start, long end, Long excludeAllocationId) {
+        return conflictTypeOf(findOverlaps(start, end, excludeAllocationId));
+    }
+
+    /**
+     * 由重叠区间判定冲突类型
+     */
+    public static ConflictType conflictTypeOf(Collection<ScheduleInterval> overlaps) {
+        ConflictType result = ConflictType.NONE;
+        for (ScheduleInterval interval : overlaps) {
+            if (interval.getLevel() == ConflictType.HARD) {
+                return ConflictType.HARD;
+            }
+            result = ConflictType.SOFT;
+        }
+        return result;
+    }
+
+    /**
+     * 全部区间（按开始时间升序）
+     */
+    public List<ScheduleInterval> intervals() {
+        return List.of(snapshot.items);
+    }
+
+    public int size() {
+        return snapshot.items.length;
+    }
+
+    /**
+     * 新增或替换同一来源、同一ID的区间（幂等）
+     *
+     * @return 被替换的区间，没有时为 null
+     */
+    public synchronized ScheduleInterval upsert(ScheduleInterval interval) {
+        List<ScheduleInterval> items = new ArrayList<>(snapshot.items.length + 1);
+        ScheduleInterval previous = withoutEntry(interval.getKind(), interval.getId(), items);
+        items.add(interval);
+        snapshot = Snapshot.build(items);
+        return previous;
+    }
+
+    /**
+     * @return 被移除的区间，没有时为 null
+     */
+    public synchronized ScheduleInterval remove(ScheduleInterval.Kind kind, Long id) {
+        List<ScheduleInterval> items = new ArrayList<>(snapshot.items.length);
+        ScheduleInterval removed = withoutEntry(kind, id, items);
+        if (removed != null) {
+            snapshot = Snapshot.build(items);
+        }
+        return removed;
+    }
+
+    private ScheduleInterval withoutEntry(ScheduleInterval.Kind kind, Long id, List<ScheduleInterval> remaining) {
+        ScheduleInterval removed = null;
+        for (ScheduleInterval item : snapshot.items) {
+            if (item.sameEntry(kind, id)) {
+                removed = item;
+            } else {
+                remaining.add(item);
+            }
+        }
+        return removed;
+    }
+
+    private static final class Snapshot {
+
+        private final ScheduleInterval[] items;
+        private final long[] starts;
+        private final long[] ends;
+        private final long maxLength;
+
+        private Snapshot(ScheduleInterval[] items, long[] starts, long[] ends, long maxLength) {
+            this.items = items;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxLength = maxLength;
+        }
+
+        private static Snapshot build(List<ScheduleInterval> list) {
+            list.sort(ORDER);
+            ScheduleInterval[] items = list.toArray(new ScheduleInterval[0]);
+            long[] starts = new long[items.length];
+            long[] ends = new long[items.length];
+            long maxLength = 0;
+            for (int i = 0; i < items.length; i++) {
+                starts[i] = items[i].getStart();
+                ends[i] = items[i].getEnd();
+                maxLength = Math.max(maxLength, ends[i] - starts[i]);
+            }
+            return new Snapshot(items, starts, ends, maxLength);
+        }
+
+        /**
+         * 第一个开始时间 >= time 的下标
+         */
+        private int firstStartAtOrAfter(long time) {
+            int index = Arrays.binarySearch(starts, time);
+            if (index < 0) {
+                return -index - 1;
+            }
+            while (index > 0 && starts[index - 1] == time) {
+                index--;
+            }
+            return index;
+        }
+    }
+}
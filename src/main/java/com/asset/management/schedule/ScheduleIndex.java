@@ -0,0 +1,338 @@
+package com.asset.management.schedule;
+
+import com.asset.management.config.SchedulingProperties;
+import com.asset.management.dto.ConflictType;
+import com.asset.management.dto.ResourceRange;
+import com.asset.management.entity.Allocation;
+import com.asset.management.entity.MaintenanceWindow;
+import com.asset.management.mapper.AllocationMapper;
+import com.asset.management.mapper.MaintenanceWindowMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 资源占用内存索引
+ *
+ * 按资源维护 ACTIVE 分配与维护窗口的时间轴，用于应答冲突预检测，避免每次访问数据库。
+ * 数据库仍是唯一可信来源：
+ * 1. 资源时间轴在首次查询时从数据库懒加载；
+ * 2. 写操作在事务提交后才同步到索引，回滚的事务不会污染索引；
+ * 3. 写路径（创建/更新分配）的冲突检测仍在数据库锁内完成，索引只服务只读请求。
+ * 索引按区间总数与闲置时间淘汰整个资源的时间轴（同时通知监听方），被淘汰的资源下次查询时重新加载。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScheduleIndex {
+
+    private final AllocationMapper allocationMapper;
+    private final MaintenanceWindowMapper maintenanceWindowMapper;
+    private final SchedulingProperties schedulingProperties;
+
+    /**
+     * 缓存的 Map 视图：computeIfAbsent/computeIfPresent 与 ConcurrentHashMap 一样按键原子执行，
+     * 时间轴原地更新后重新计算权重
+     */
+    private Map<Long, ResourceTimeline> timelines;
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong changeCount = new AtomicLong();
+
+    /**
+     * 已加载时间轴的变更监听（在时间轴更新之后、索引锁之外回调）
+     */
+    public interface ChangeListener {
+
+        /**
+         * 时间轴在 [start, end) 范围内发生变化
+         */
+        void onScheduleChanged(Long resourceId, ResourceTimeline timeline, long start, long end);
+
+        /**
+         * 资源时间轴被丢弃
+         */
+        void onResourceEvicted(Long resourceId);
+    }
+
+    @PostConstruct
+    void init() {
+        SchedulingProperties.Index index = schedulingProperties.getIndex();
+        Cache<Long, ResourceTimeline> cache = Caffeine.newBuilder()
+                .maximumWeight(index.getMaxIntervals())
+                .weigher((Long resourceId, ResourceTimeline timeline) -> timeline.size() + 1)
+                .expireAfterAccess(index.getExpireAfterAccess())
+                // 淘汰时同步通知，派生数据（占用位图）不会错过之后的变更
+                .evictionListener((Long resourceId, ResourceTimeline timeline, RemovalCause cause) -> {
+                    log.debug("淘汰资源时间轴: resourceId={}, 原因={}", resourceId, cause);
+                    listeners.forEach(listener -> listener.onResourceEvicted(resourceId));
+                })
+                .build();
+        timelines = cache.asMap();
+    }
+
+    public void addListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 查询与时间段重叠的全部占用区间
+     */
+    public List<ScheduleInterval> findOverlaps(Long resourceId,
+                                               LocalDateTime startTime,
+                                               LocalDateTime endTime,
+                                               Long excludeAllocationId) {
+        return timeline(resourceId).findOverlaps(
+                ScheduleInterval.toMillis(startTime),
+                ScheduleInterval.toMillis(endTime),
+                excludeAllocationId
+        );
+    }
+
+    /**
+     * 判定冲突类型：ACTIVE分配或硬维护窗口为硬冲突，仅软维护窗口为软冲突
+     */
+    public ConflictType detectConflictType(Long resourceId,
+                                           LocalDateTime startTime,
+                                           LocalDateTime endTime,
+                                           Long excludeAllocationId) {
+        return timeline(resourceId).detectConflictType(
+                ScheduleInterval.toMillis(startTime),
+                ScheduleInterval.toMillis(endTime),
+                excludeAllocationId
+        );
+    }
+
+    /**
+     * 从数据库读取资源在时间范围内的占用，构建一个独立于索引的临时时间轴
+     * 一次范围查询覆盖多个待检测时间段，用于批量场景（不依赖索引是否启用）
+     */
+    public ResourceTimeline loadRange(Long resourceId, LocalDateTime startTime, LocalDateTime endTime) {
+        List<ScheduleInterval> intervals = new ArrayList<>();
+        for (Allocation allocation : allocationMapper.findByResourceIdAndRange(resourceId, startTime, endTime)) {
+            intervals.add(ScheduleInterval.of(allocation));
+        }
+        for (MaintenanceWindow window : maintenanceWindowMapper.findByResourceAndRange(resourceId, startTime, endTime)) {
+            intervals.add(ScheduleInterval.of(window));
+        }
+        return new ResourceTimeline(intervals);
+    }
+
+    /**
+     * 一次查询多个资源各自时间范围内的占用，按资源构建临时时间轴（没有占用的资源对应空时间轴）
+     * 每个资源一个范围，互相离得很远的资源不会把彼此之间的历史占用一并读出
+     */
+    public Map<Long, ResourceTimeline> loadRanges(Collection<ResourceRange> ranges) {
+        Map<Long, List<ScheduleInterval>> grouped = new HashMap<>();
+        for (ResourceRange range : ranges) {
+            grouped.put(range.getResourceId(), new ArrayList<>());
+        }
+        if (grouped.isEmpty()) {
+            return new HashMap<>();
+        }
+        for (Allocation allocation : allocationMapper.findByResourceRanges(ranges)) {
+            grouped.get(allocation.getResourceId()).add(ScheduleInterval.of(allocation));
+        }
+        for (MaintenanceWindow window : maintenanceWindowMapper.findByResourceRanges(ranges)) {
+            grouped.get(window.getResourceId()).add(ScheduleInterval.of(window));
+        }
+        Map<Long, ResourceTimeline> timelines = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((resourceId, intervals) -> timelines.put(resourceId, new ResourceTimeline(intervals)));
+        return timelines;
+    }
+
+    /**
+     * 分配记录已保存（新建、更新、取消）
+     *
+     * @param previousResourceId 更新前的资源ID，资源发生变化时需从原时间轴移除
+     */
+    public void onAllocationSaved(Allocation allocation, Long previousResourceId) {
+        Long id = allocation.getId();
+        Long resourceId = allocation.getResourceId();
+        ScheduleInterval interval = allocation.getStatus() == Allocation.AllocationStatus.ACTIVE
+                ? ScheduleInterval.of(allocation)
+                : null;
+        afterCommit(() -> {
+            if (previousResourceId != null && !previousResourceId.equals(resourceId)) {
+                removeLoaded(previousResourceId, ScheduleInterval.Kind.ALLOCATION, id);
+            }
+            if (interval == null) {
+                removeLoaded(resourceId, ScheduleInterval.Kind.ALLOCATION, id);
+            } else {
+                upsertLoaded(interval);
+            }
+        });
+    }
+
+    public void onAllocationRemoved(Long resourceId, Long allocationId) {
+        afterCommit(() -> removeLoaded(resourceId, ScheduleInterval.Kind.ALLOCATION, allocationId));
+    }
+
+    public void onMaintenanceSaved(MaintenanceWindow window, Long previousResourceId) {
+        ScheduleInterval interval = ScheduleInterval.of(window);
+        afterCommit(() -> {
+            if (previousResourceId != null && !previousResourceId.equals(interval.getResourceId())) {
+                removeLoaded(previousResourceId, ScheduleInterval.Kind.MAINTENANCE, interval.getId());
+            }
+            upsertLoaded(interval);
+        });
+    }
+
+    public void onMaintenanceRemoved(Long resourceId, Long windowId) {
+        afterCommit(() -> removeLoaded(resourceId, ScheduleInterval.Kind.MAINTENANCE, windowId));
+    }
+
+    /**
+     * 资源信息变化（如调整类别），不影响时间轴，只推进变更计数
+     */
+    public void onResourceUpdated(Long resourceId) {
+        afterCommit(() -> log.debug("资源信息变化: resourceId={}", resourceId));
+    }
+
+    /**
+     * 已提交的日程变更次数（无论资源时间轴是否已加载），用于判断派生结果是否过期
+     */
+    public long changeCount() {
+        return changeCount.get();
+    }
+
+    /**
+     * 资源删除时级联删除了全部分配与维护窗口，直接丢弃其时间轴
+     */
+    public void evictResource(Long resourceId) {
+        afterCommit(() -> {
+            timelines.remove(resourceId);
+            listeners.forEach(listener -> listener.onResourceEvicted(resourceId));
+        });
+    }
+
+    /**
+     * 批量导入写入了大量区间：丢弃受影响资源的时间轴，下次查询时重新加载
+     * （逐条更新已加载时间轴每次都要复制快照，整块写入时代价高于重新加载）
+     */
+    public void onBulkChanged(Collection<Long> resourceIds) {
+        List<Long> affected = List.copyOf(resourceIds);
+        afterCommit(() -> {
+            for (Long resourceId : affected) {
+                if (timelines.remove(resourceId) != null) {
+                    listeners.forEach(listener -> listener.onResourceEvicted(resourceId));
+                }
+            }
+        });
+    }
+
+    /**
+     * 资源时间轴是否已在索引中（已加载时查询不会访问数据库）
+     */
+    public boolean isLoaded(Long resourceId) {
+        return resourceId != null && timelines.containsKey(resourceId);
+    }
+
+    public int loadedResourceCount() {
+        return timelines.size();
+    }
+
+    /**
+     * 资源的完整时间轴（未加载时从数据库加载）
+     */
+    public ResourceTimeline timelineOf(Long resourceId) {
+        return timeline(resourceId);
+    }
+
+    private ResourceTimeline timeline(Long resourceId) {
+        if (resourceId == null) {
+            throw new IllegalArgumentException("资源ID不能为空");
+        }
+        ResourceTimeline loaded = timelines.get(resourceId);
+        if (loaded != null) {
+            return loaded;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // 事务内读取可能包含本事务未提交的数据，只临时使用，不放入索引
+            return load(resourceId);
+        }
+        return timelines.computeIfAbsent(resourceId, this::load);
+    }
+
+    private ResourceTimeline load(Long resourceId) {
+        List<ScheduleInterval> intervals = new ArrayList<>();
+        for (Allocation allocation : allocationMapper.findActiveByResourceId(resourceId)) {
+            intervals.add(ScheduleInterval.of(allocation));
+        }
+        for (MaintenanceWindow window : maintenanceWindowMapper.findByResourceId(resourceId)) {
+            intervals.add(ScheduleInterval.of(window));
+        }
+        log.debug("加载资源时间轴: resourceId={}, 区间数={}", resourceId, intervals.size());
+        return new ResourceTimeline(intervals);
+    }
+
+    /**
+     * 只更新已加载的时间轴；未加载的资源下次查询时会从数据库读取最新数据。
+     * computeIfPresent 与懒加载的 computeIfAbsent 互斥，保证加载中的时间轴不会漏掉本次变更。
+     */
+    private void upsertLoaded(ScheduleInterval interval) {
+        ScheduleInterval[] previous = new ScheduleInterval[1];
+        ResourceTimeline updated = timelines.computeIfPresent(interval.getResourceId(), (key, timeline) -> {
+            previous[0] = timeline.upsert(interval);
+            return timeline;
+        });
+        if (updated != null) {
+            notifyChanged(interval.getResourceId(), updated, previous[0]);
+            notifyChanged(interval.getResourceId(), updated, interval);
+        }
+    }
+
+    private void removeLoaded(Long resourceId, ScheduleInterval.Kind kind, Long id) {
+        if (resourceId == null) {
+            return;
+        }
+        ScheduleInterval[] removed = new ScheduleInterval[1];
+        ResourceTimeline updated = timelines.computeIfPresent(resourceId, (key, timeline) -> {
+            removed[0] = timeline.remove(kind, id);
+            return timeline;
+        });
+        if (updated != null) {
+            notifyChanged(resourceId, updated, removed[0]);
+        }
+    }
+
+    private void notifyChanged(Long resourceId, ResourceTimeline timeline, ScheduleInterval interval) {
+        if (interval == null) {
+            return;
+        }
+        for (ChangeListener listener : listeners) {
+            listener.onScheduleChanged(resourceId, timeline, interval.getStart(), interval.getEnd());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        Runnable counted = () -> {
+            action.run();
+            changeCount.incrementAndGet();
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counted.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counted.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package com.asset.management.schedule;
+
+import com.asset.management.dto.ConflictType;
+import com.asset.management.entity.Allocation;
+import com.asset.management.entity.MaintenanceWindow;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 资源时间轴上的一个占用区间（不可变快照）
+ * 时间同时保存为毫秒值，便于索引内做整数比较
+ */
+@Getter
+public final class ScheduleInterval {
+
+    /**
+     * 区间来源
+     */
+    public enum Kind {
+        ALLOCATION,
+        MAINTENANCE
+    }
+
+    private final Kind kind;
+    private final Long id;
+    private final Long resourceId;
+    private final Long projectId;
+    private final ConflictType level;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final long start;
+    private final long end;
+
+    public ScheduleInterval(Kind kind,
+                            Long id,
+                            Long resourceId,
+                            Long projectId,
+                            ConflictType level,
+                            LocalDateTime startTime,
+                            LocalDateTime endTime) {
+        this.kind = kind;
+        this.id = id;
+        this.resourceId = resourceId;
+        this.projectId = projectId;
+        this.level = level;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.start = toMillis(startTime);
+        this.end = toMillis(endTime);
+    }
+
+    public static ScheduleInterval of(Allocation allocation) {
+        return new ScheduleInterval(
+                Kind.ALLOCATION,
+                allocation.getId(),
+                allocation.getResourceId(),
+                allocation.getProjectId(),
+                ConflictType.HARD,
+                allocation.getStartTime(),
+                allocation.getEndTime()
+        );
+    }
+
+    public static ScheduleInterval of(MaintenanceWindow window) {
+        ConflictType level = window.getType() == MaintenanceWindow.MaintenanceType.SOFT
+                ? ConflictType.SOFT
+                : ConflictType.HARD;
+        return new ScheduleInterval(
+                Kind.MAINTENANCE,
+                window.getId(),
+                window.getResourceId(),
+                null,
+                level,
+                window.getStartTime(),
+                window.getEndTime()
+        );
+    }
+
+    /**
+     * 与 [start, end) 是否重叠（边界相等不算冲突）
+     */
+    public boolean overlaps(long otherStart, long otherEnd) {
+        return start < otherEnd && otherStart < end;
+    }
+
+    public boolean sameEntry(Kind otherKind, Long otherId) {
+        return kind == otherKind && id != null && id.equals(otherId);
+    }
+
+    public static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    public static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L),
+                (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+}
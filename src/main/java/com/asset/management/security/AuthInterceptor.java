@@ -1,9 +1,11 @@
 package com.asset.management.security;
 
+import com.asset.management.config.AuthProperties;
 import com.asset.management.dto.AuthUser;
 import com.asset.management.dto.Result;
 import com.asset.management.service.AuthService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -11,38 +13,35 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import java.io.IOException;
-import java.util.Locale;
-import java.util.Set;
-import java.util.regex.Pattern;
 
 /**
  * 登录与权限拦截器
+ * 权限规则来自 auth.routes，启动时编译为 RouteTable；静态资源在 WebConfig 中排除，不经过本拦截器
  */
 @Component
 @RequiredArgsConstructor
 public class AuthInterceptor implements HandlerInterceptor {
 
-    private static final Set<String> PUBLIC_PATHS = Set.of(
-            "/",
-            "/auth/login",
-            "/error"
-    );
-    private static final Pattern STATIC_RESOURCE = Pattern.compile(
-            ".*\\.(css|js|html|png|jpg|jpeg|svg|ico|map)$",
-            Pattern.CASE_INSENSITIVE
-    );
-
     private final AuthService authService;
+    private final AuthProperties authProperties;
     private final ObjectMapper objectMapper;
 
+    private RouteTable routeTable;
+
+    @PostConstruct
+    void init() {
+        routeTable = new RouteTable(authProperties.getRoutes());
+    }
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
         if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
             return true;
         }
 
-        String path = resolvePath(request);
-        if (isPublicPath(path)) {
+        // servletPath 已解码并规范化，与处理器映射使用的路径一致
+        RouteTable.Access access = routeTable.lookup(request.getServletPath(), request.getMethod());
+        if (access != null && access.isPublic()) {
             return true;
         }
 
@@ -58,7 +57,7 @@ public class AuthInterceptor implements HandlerInterceptor {
             return false;
         }
 
-        if (!isAllowed(user.getRole(), request.getMethod(), path)) {
+        if (access == null || !access.allows(user.getRole())) {
             writeError(response, 403, "权限不足");
             return false;
         }
@@ -68,35 +67,9 @@ public class AuthInterceptor implements HandlerInterceptor {
         return true;
     }
 
-    private boolean isPublicPath(String path) {
-        if (PUBLIC_PATHS.contains(path)) {
-            return true;
-        }
-        return STATIC_RESOURCE.matcher(path).matches();
-    }
-
-    private boolean isAllowed(String role, String method, String path) {
-        if (role != null && "ADMIN".equalsIgnoreCase(role)) {
-            return true;
-        }
-        if (path.startsWith("/auth/")) {
-            return true;
-        }
-        if (path.startsWith("/users")) {
-            return false;
-        }
-        if ("GET".equalsIgnoreCase(method)) {
-            return true;
-        }
-        if ("POST".equalsIgnoreCase(method) && "/allocations".equals(path)) {
-            return true;
-        }
-        return "POST".equalsIgnoreCase(method) && "/allocations/check-conflict".equals(path);
-    }
-
     private String resolveToken(HttpServletRequest request) {
         String header = request.getHeader("Authorization");
-        if (header != null && header.toLowerCase(Locale.ROOT).startsWith("bearer ")) {
+        if (header != null && header.regionMatches(true, 0, "Bearer ", 0, 7)) {
             return header.substring(7).trim();
         }
         String token = request.getHeader("X-Auth-Token");
@@ -106,18 +79,6 @@ public class AuthInterceptor implements HandlerInterceptor {
         return null;
     }
 
-    private String resolvePath(HttpServletRequest request) {
-        String path = request.getRequestURI();
-        String contextPath = request.getContextPath();
-        if (contextPath != null && !contextPath.isEmpty() && path.startsWith(contextPath)) {
-            path = path.substring(contextPath.length());
-        }
-        if (path == null || path.isEmpty()) {
-            return "/";
-        }
-        return path;
-    }
-
     private void writeError(HttpServletResponse response, int code, String message) throws IOException {
         response.setStatus(code);
         response.setContentType("application/json;charset=UTF-8");
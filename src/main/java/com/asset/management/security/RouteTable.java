@@ -0,0 +1,237 @@
+package com.asset.management.security;
+
+import com.asset.management.config.AuthProperties;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 接口权限表：启动时把权限规则编译为按路径段组织的前缀树
+ *
+ * 匹配规则：
+ * 1. 字面量段优先于变量段，变量段优先于末尾的 **，即最具体的路径模式生效；
+ * 2. 最具体的节点没有为该 HTTP 方法配置规则时，回退到次具体的匹配；
+ * 3. 同一路径模式、同一方法的多条规则合并（角色取并集，公开/登录即可访问取或）。
+ * 查询直接在请求路径上按下标比较各段，不切分字符串，不分配对象。
+ */
+public class RouteTable {
+
+    private static final List<String> METHODS = List.of(
+            "GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE");
+
+    /**
+     * 编译后的访问权限（同一对象在多个请求间共享）
+     */
+    public static final class Access {
+
+        private final boolean open;
+        private final boolean anyUser;
+        private final String[] roles;
+
+        private Access(boolean open, boolean anyUser, String[] roles) {
+            this.open = open;
+            this.anyUser = anyUser;
+            this.roles = roles;
+        }
+
+        /**
+         * 无需登录即可访问
+         */
+        public boolean isPublic() {
+            return open;
+        }
+
+        public boolean allows(String role) {
+            if (open || anyUser) {
+                return true;
+            }
+            if (role == null) {
+                return false;
+            }
+            for (String allowed : roles) {
+                if (allowed.equalsIgnoreCase(role)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Access merge(Access other) {
+            if (other == null) {
+                return this;
+            }
+            String[] merged = Arrays.copyOf(roles, roles.length + other.roles.length);
+            System.arraycopy(other.roles, 0, merged, roles.length, other.roles.length);
+            return new Access(open || other.open, anyUser || other.anyUser,
+                    Arrays.stream(merged).distinct().toArray(String[]::new));
+        }
+    }
+
+    private static final class Node {
+
+        private String[] literals = new String[0];
+        private Node[] literalChildren = new Node[0];
+        private Node variable;
+
+        /**
+         * 在此节点结束的规则，按方法下标
+         */
+        private Access[] exact;
+
+        /**
+         * 此节点下的 **（匹配零或多段），按方法下标
+         */
+        private Access[] wildcard;
+
+        private Node child(String literal) {
+            for (int i = 0; i < literals.length; i++) {
+                if (literals[i].equals(literal)) {
+                    return literalChildren[i];
+                }
+            }
+            Node node = new Node();
+            literals = Arrays.copyOf(literals, literals.length + 1);
+            literalChildren = Arrays.copyOf(literalChildren, literalChildren.length + 1);
+            literals[literals.length - 1] = literal;
+            literalChildren[literalChildren.length - 1] = node;
+            return node;
+        }
+    }
+
+    private final Node root = new Node();
+
+    public RouteTable(List<AuthProperties.Route> routes) {
+        for (AuthProperties.Route route : routes) {
+            add(route);
+        }
+    }
+
+    /**
+     * 查询请求的访问权限，没有匹配的规则时返回 null（拒绝）
+     *
+     * @param path 应用内路径（已解码、规范化，不含 context-path）
+     */
+    public Access lookup(String path, String method) {
+        int methodIndex = methodIndex(method);
+        if (methodIndex < 0) {
+            return null;
+        }
+        return find(root, path, skipSlashes(path, 0), methodIndex);
+    }
+
+    private Access find(Node node, String path, int start, int methodIndex) {
+        int length = path.length();
+        if (start >= length) {
+            Access access = node.exact == null ? null : node.exact[methodIndex];
+            if (access == null && node.wildcard != null) {
+                access = node.wildcard[methodIndex];
+            }
+            return access;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = length;
+        }
+        int next = skipSlashes(path, end);
+        String[] literals = node.literals;
+        for (int i = 0; i < literals.length; i++) {
+            String literal = literals[i];
+            if (literal.length() == end - start && path.regionMatches(start, literal, 0, literal.length())) {
+                Access access = find(node.literalChildren[i], path, next, methodIndex);
+                if (access != null) {
+                    return access;
+                }
+                break;
+            }
+        }
+        if (node.variable != null) {
+            Access access = find(node.variable, path, next, methodIndex);
+            if (access != null) {
+                return access;
+            }
+        }
+        return node.wildcard == null ? null : node.wildcard[methodIndex];
+    }
+
+    private void add(AuthProperties.Route route) {
+        String path = route.getPath();
+        if (path == null || !path.startsWith("/")) {
+            throw new IllegalStateException("权限规则路径必须以 / 开头: " + path);
+        }
+        Access access = new Access(
+                route.getAccess() == AuthProperties.Route.Access.PUBLIC,
+                route.getAccess() == AuthProperties.Route.Access.AUTHENTICATED,
+                route.getRoles().stream().map(String::trim).distinct().toArray(String[]::new));
+        if (route.getAccess() == AuthProperties.Route.Access.ROLES && access.roles.length == 0) {
+            throw new IllegalStateException("权限规则未指定角色: " + path);
+        }
+
+        Node node = root;
+        boolean wildcard = false;
+        String[] segments = Arrays.stream(path.split("/")).filter(s -> !s.isEmpty()).toArray(String[]::new);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if ("**".equals(segment)) {
+                if (i != segments.length - 1) {
+                    throw new IllegalStateException("** 只能出现在权限规则路径末尾: " + path);
+                }
+                wildcard = true;
+            } else if ("*".equals(segment) || (segment.startsWith("{") && segment.endsWith("}"))) {
+                if (node.variable == null) {
+                    node.variable = new Node();
+                }
+                node = node.variable;
+            } else {
+                node = node.child(segment);
+            }
+        }
+
+        if (wildcard) {
+            node.wildcard = put(node.wildcard, route.getMethods(), access, path);
+        } else {
+            node.exact = put(node.exact, route.getMethods(), access, path);
+        }
+    }
+
+    private static Access[] put(Access[] slots, List<String> methods, Access access, String path) {
+        if (slots == null) {
+            slots = new Access[METHODS.size()];
+        }
+        if (methods.isEmpty()) {
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = access.merge(slots[i]);
+            }
+            return slots;
+        }
+        for (String method : methods) {
+            int index = METHODS.indexOf(method.trim().toUpperCase(Locale.ROOT));
+            if (index < 0) {
+                throw new IllegalStateException("权限规则的 HTTP 方法无效: " + method + " (" + path + ")");
+            }
+            slots[index] = access.merge(slots[index]);
+        }
+        return slots;
+    }
+
+    private static int methodIndex(String method) {
+        return switch (method) {
+            case "GET" -> 0;
+            case "HEAD" -> 1;
+            case "POST" -> 2;
+            case "PUT" -> 3;
+            case "PATCH" -> 4;
+            case "DELETE" -> 5;
+            case "OPTIONS" -> 6;
+            case "TRACE" -> 7;
+            default -> -1;
+        };
+    }
+
+    private static int skipSlashes(String path, int index) {
+        while (index < path.length() && path.charAt(index) == '/') {
+            index++;
+        }
+        return index;
+    }
+}
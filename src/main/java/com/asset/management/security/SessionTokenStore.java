@@ -0,0 +1,86 @@
+package com.asset.management.security;
+
+import com.asset.management.config.AuthProperties;
+import com.asset.management.dto.AuthUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.util.UUID;
+
+/**
+ * 服务端会话：令牌为随机串，会话保存在本节点内存中
+ *
+ * 会话在空闲超时或自登录起的最长有效期到达时失效，取两者中较早的一个；总数超过上限时淘汰。
+ * 过期会话由后台调度清理，查询时已过期的会话直接视为不存在，校验请求不会等待清理。
+ */
+public class SessionTokenStore implements TokenStore {
+
+    private final Ticker ticker = Ticker.systemTicker();
+    private final long idleNanos;
+    private final long absoluteNanos;
+    private final Cache<String, Session> sessions;
+
+    /**
+     * @param createdNanos 登录时刻（ticker 读数）
+     */
+    private record Session(AuthUser user, long createdNanos) {
+    }
+
+    public SessionTokenStore(AuthProperties properties) {
+        this.idleNanos = properties.getIdleTimeout().toNanos();
+        this.absoluteNanos = properties.getAbsoluteTimeout().toNanos();
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSessions())
+                .expireAfter(new Expiry<String, Session>() {
+                    @Override
+                    public long expireAfterCreate(String token, Session session, long currentTime) {
+                        return Math.min(idleNanos, absoluteNanos);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, Session session, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, Session session, long currentTime,
+                                                long currentDuration) {
+                        // 每次访问重新计算空闲期限，但不超过最长有效期
+                        long remaining = session.createdNanos() + absoluteNanos - currentTime;
+                        return Math.max(0, Math.min(idleNanos, remaining));
+                    }
+                })
+                .scheduler(Scheduler.systemScheduler())
+                .ticker(ticker)
+                .build();
+    }
+
+    @Override
+    public String issue(AuthUser user) {
+        String token = UUID.randomUUID().toString().replace("-", "");
+        sessions.put(token, new Session(user, ticker.read()));
+        return token;
+    }
+
+    @Override
+    public AuthUser resolve(String token) {
+        Session session = sessions.getIfPresent(token);
+        return session == null ? null : session.user();
+    }
+
+    @Override
+    public void revoke(String token) {
+        sessions.invalidate(token);
+    }
+
+    /**
+     * 当前保存的会话数（估算值）
+     */
+    public long size() {
+        return sessions.estimatedSize();
+    }
+}
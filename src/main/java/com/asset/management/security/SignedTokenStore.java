@@ -0,0 +1,97 @@
+package com.asset.management.security;
+
+import com.asset.management.config.AuthProperties;
+import com.asset.management.dto.AuthUser;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * 签名令牌：令牌格式为 base64url(载荷) + "." + base64url(HMAC-SHA256(载荷))
+ *
+ * 载荷包含用户ID、角色、过期时间（秒）与用户名，校验只需重新计算签名，不查询会话或数据库，
+ * 配置相同密钥的任一节点都能校验，重启后仍然有效。
+ * 令牌不保存在服务端：退出登录无法使已签发的令牌提前失效，角色变更在令牌过期后生效。
+ */
+public class SignedTokenStore implements TokenStore {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * @param secret 签名密钥，为 null 时随机生成
+     */
+    public SignedTokenStore(AuthProperties properties, byte[] secret) {
+        if (secret == null) {
+            secret = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(secret);
+        } else if (secret.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("auth.signing-secret 至少需要 " + MIN_SECRET_BYTES + " 字节");
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.ttlSeconds = properties.getAbsoluteTimeout().toSeconds();
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    @Override
+    public String issue(AuthUser user) {
+        long expiresAt = System.currentTimeMillis() / 1000 + ttlSeconds;
+        String payload = user.getId() + ":" + user.getRole() + ":" + expiresAt + ":"
+                + ENCODER.encodeToString(user.getUsername().getBytes(StandardCharsets.UTF_8));
+        String body = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return body + "." + ENCODER.encodeToString(sign(body));
+    }
+
+    @Override
+    public AuthUser resolve(String token) {
+        int dot = token.lastIndexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        String body = token.substring(0, dot);
+        try {
+            // 先校验签名（常量时间比较），签名正确的载荷才解析
+            if (!MessageDigest.isEqual(sign(body), DECODER.decode(token.substring(dot + 1)))) {
+                return null;
+            }
+            String[] fields = new String(DECODER.decode(body), StandardCharsets.UTF_8).split(":", 4);
+            if (fields.length != 4 || Long.parseLong(fields[2]) <= System.currentTimeMillis() / 1000) {
+                return null;
+            }
+            String username = new String(DECODER.decode(fields[3]), StandardCharsets.UTF_8);
+            return new AuthUser(Long.valueOf(fields[0]), username, fields[1]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void revoke(String token) {
+        // 无服务端状态，令牌到期自然失效
+    }
+
+    private byte[] sign(String body) {
+        return macs.get().doFinal(body.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("无法初始化令牌签名", e);
+        }
+    }
+}
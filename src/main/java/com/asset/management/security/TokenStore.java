@@ -0,0 +1,24 @@
+package com.asset.management.security;
+
+import com.asset.management.dto.AuthUser;
+
+/**
+ * 登录令牌的签发与校验
+ */
+public interface TokenStore {
+
+    /**
+     * 为登录用户签发令牌
+     */
+    String issue(AuthUser user);
+
+    /**
+     * 校验令牌，无效或已过期时返回 null
+     */
+    AuthUser resolve(String token);
+
+    /**
+     * 使令牌失效（退出登录）
+     */
+    void revoke(String token);
+}
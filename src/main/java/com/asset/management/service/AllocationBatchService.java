@@ -0,0 +1,456 @@
+package com.asset.management.service;
+
+import com.asset.management.config.SchedulingProperties;
+import com.asset.management.dto.AllocationRequest;
+import com.asset.management.dto.BatchAllocationResponse;
+import com.asset.management.dto.BatchItemResult;
+import com.asset.management.dto.ConflictType;
+import com.asset.management.dto.GangAllocationRequest;
+import com.asset.management.dto.RecurrenceRule;
+import com.asset.management.dto.RecurringAllocationRequest;
+import com.asset.management.dto.ResourceRange;
+import com.asset.management.entity.Allocation;
+import com.asset.management.entity.Project;
+import com.asset.management.entity.Resource;
+import com.asset.management.exception.BatchAllocationException;
+import com.asset.management.mapper.AllocationMapper;
+import com.asset.management.mapper.ProjectMapper;
+import com.asset.management.mapper.ResourceMapper;
+import com.asset.management.schedule.ResourceTimeline;
+import com.asset.management.schedule.ScheduleIndex;
+import com.asset.management.schedule.ScheduleInterval;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * 批量资源分配服务
+ *
+ * 整批在一个事务内完成，全部成功或全部回滚：
+ * 1. 逐条校验参数，项目存在性一次批量查询；
+ * 2. 涉及的资源按ID升序一次性加锁（所有批量写入加锁顺序一致，不会互相死锁）；
+ * 3. 涉及的全部资源一次范围查询（IN）取出已有占用，按资源分组后批次内条目按开始时间排序扫描，
+ *    同时检测与数据库已有记录、与批次内其他条目的冲突；
+ * 4. 多值INSERT分块写入。
+ * 语句数与条目数、资源数无关，成组预订多个资源的耗时接近单条分配。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AllocationBatchService {
+
+    private static final int INSERT_CHUNK_SIZE = 500;
+
+    /**
+     * 单个重复系列最多展开的次数
+     */
+    private static final int MAX_OCCURRENCES = 1000;
+
+    private final AllocationMapper allocationMapper;
+    private final ResourceMapper resourceMapper;
+    private final ProjectMapper projectMapper;
+    private final ScheduleIndex scheduleIndex;
+    private final DataVersions dataVersions;
+    private final EntityCache entityCache;
+    private final AllocationSlotService allocationSlotService;
+    private final SchedulingProperties schedulingProperties;
+
+    /**
+     * 批量创建资源分配
+     *
+     * @param requests 分配条目
+     * @return 创建结果（含逐条结果）
+     * @throws BatchAllocationException 任一条目不合法或存在硬冲突时整批失败
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public BatchAllocationResponse createAllocations(List<AllocationRequest> requests) {
+        return execute(requests, false);
+    }
+
+    /**
+     * 成组预订：同一时间段同时预订多个资源，任一资源存在硬冲突则全部回滚
+     *
+     * @throws BatchAllocationException 任一成员冲突时整组失败，逐条结果标明冲突的成员
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public BatchAllocationResponse createGangAllocation(GangAllocationRequest request) {
+        List<Long> resourceIds = request.getResourceIds();
+        if (resourceIds == null || resourceIds.isEmpty()) {
+            throw new IllegalArgumentException("资源列表不能为空");
+        }
+        if (resourceIds.size() != new HashSet<>(resourceIds).size()) {
+            throw new IllegalArgumentException("资源列表不能包含重复的资源");
+        }
+
+        List<AllocationRequest> requests = new ArrayList<>(resourceIds.size());
+        for (Long resourceId : resourceIds) {
+            AllocationRequest member = new AllocationRequest();
+            member.setResourceId(resourceId);
+            member.setProjectId(request.getProjectId());
+            member.setStartTime(request.getStartTime());
+            member.setEndTime(request.getEndTime());
+            member.setRemark(request.getRemark());
+            requests.add(member);
+        }
+        return createAllocations(requests);
+    }
+
+    /**
+     * 重复分配：按规则在内存中展开全部重复，走批量流程一次范围查询检测冲突、多值INSERT写入
+     *
+     * @throws BatchAllocationException 不跳过冲突时任一重复冲突整个系列失败；跳过冲突时全部冲突才失败
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public BatchAllocationResponse createRecurringAllocation(RecurringAllocationRequest request) {
+        if (request.getStartTime() == null || request.getEndTime() == null) {
+            throw new IllegalArgumentException("开始时间和结束时间不能为空");
+        }
+        if (!request.getEndTime().isAfter(request.getStartTime())) {
+            throw new IllegalArgumentException("结束时间必须大于开始时间");
+        }
+        List<AllocationRequest> requests = new ArrayList<>();
+        Duration duration = Duration.between(request.getStartTime(), request.getEndTime());
+        for (LocalDateTime start : expandOccurrences(request.getStartTime(), request.getRecurrence())) {
+            AllocationRequest occurrence = new AllocationRequest();
+            occurrence.setResourceId(request.getResourceId());
+            occurrence.setProjectId(request.getProjectId());
+            occurrence.setStartTime(start);
+            occurrence.setEndTime(start.plus(duration));
+            occurrence.setRemark(request.getRemark());
+            requests.add(occurrence);
+        }
+        return execute(requests, request.isSkipConflicts());
+    }
+
+    /**
+     * 批量流程
+     *
+     * @param skipConflicts 是否跳过冲突条目只写入其余条目（不合法条目始终使整批失败）
+     */
+    private BatchAllocationResponse execute(List<AllocationRequest> requests, boolean skipConflicts) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("分配列表不能为空");
+        }
+
+        List<BatchItemResult> items = validateItems(requests);
+        assertProjectsExist(requests, items);
+        lockResources(items);
+        detectConflicts(items);
+
+        long invalid = countByStatus(items, BatchItemResult.ItemStatus.INVALID);
+        long conflicts = countByStatus(items, BatchItemResult.ItemStatus.CONFLICT);
+        if (invalid > 0 || (conflicts > 0 && (!skipConflicts || conflicts == items.size()))) {
+            log.warn("批量分配失败: 条目数={}, 冲突={}, 不合法={}", requests.size(), conflicts, invalid);
+            throw new BatchAllocationException(
+                    conflicts > 0 ? 409 : 400,
+                    String.format("批量分配失败：%d 条冲突，%d 条不合法，整批未提交", conflicts, invalid),
+                    new BatchAllocationResponse(false, List.of(), items)
+            );
+        }
+
+        if (conflicts > 0) {
+            items.stream()
+                    .filter(item -> item.getStatus() == BatchItemResult.ItemStatus.CONFLICT)
+                    .forEach(item -> item.setMessage(item.getMessage() + "，已跳过"));
+        }
+        List<Allocation> allocations = insertAll(requests, items);
+        log.info("批量分配成功: 条目数={}, 跳过冲突={}, 资源数={}", allocations.size(), conflicts,
+                allocations.stream().map(Allocation::getResourceId).distinct().count());
+        return new BatchAllocationResponse(true, allocations, items);
+    }
+
+    /**
+     * 展开重复的开始时间（含首次），按时间升序
+     */
+    private List<LocalDateTime> expandOccurrences(LocalDateTime first, RecurrenceRule rule) {
+        if (rule == null || rule.getFrequency() == null) {
+            throw new IllegalArgumentException("重复频率不能为空");
+        }
+        if (rule.getUntil() == null && rule.getCount() == null) {
+            throw new IllegalArgumentException("重复规则必须指定截止时间或重复次数");
+        }
+        if (rule.getCount() != null && (rule.getCount() <= 0 || rule.getCount() > MAX_OCCURRENCES)) {
+            throw new IllegalArgumentException("重复次数必须在 1 ~ " + MAX_OCCURRENCES + " 之间");
+        }
+        int interval = rule.getInterval() == null ? 1 : rule.getInterval();
+        if (interval <= 0) {
+            throw new IllegalArgumentException("重复间隔必须大于0");
+        }
+        int limit = rule.getCount() == null ? MAX_OCCURRENCES : rule.getCount();
+
+        List<LocalDateTime> starts = new ArrayList<>();
+        LocalDate firstDate = first.toLocalDate();
+        if (rule.getFrequency() == RecurrenceRule.Frequency.DAILY) {
+            for (LocalDate date = firstDate; ; date = date.plusDays(interval)) {
+                if (!addOccurrence(starts, date.atTime(first.toLocalTime()), rule, limit)) {
+                    break;
+                }
+            }
+        } else {
+            Set<DayOfWeek> days = rule.getDaysOfWeek() == null || rule.getDaysOfWeek().isEmpty()
+                    ? Set.of(firstDate.getDayOfWeek())
+                    : new TreeSet<>(rule.getDaysOfWeek());
+            LocalDate week = firstDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            weeks:
+            for (; ; week = week.plusWeeks(interval)) {
+                for (DayOfWeek day : days) {
+                    LocalDate date = week.plusDays(day.getValue() - 1L);
+                    if (date.isBefore(firstDate)) {
+                        continue;
+                    }
+                    if (!addOccurrence(starts, date.atTime(first.toLocalTime()), rule, limit)) {
+                        break weeks;
+                    }
+                }
+            }
+        }
+        if (starts.isEmpty()) {
+            throw new IllegalArgumentException("重复规则没有产生任何分配");
+        }
+        return starts;
+    }
+
+    /**
+     * @return 是否继续展开
+     */
+    private boolean addOccurrence(List<LocalDateTime> starts, LocalDateTime start, RecurrenceRule rule, int limit) {
+        if (rule.getUntil() != null && start.isAfter(rule.getUntil())) {
+            return false;
+        }
+        if (starts.size() >= limit) {
+            if (rule.getCount() == null) {
+                throw new IllegalArgumentException("重复次数超过上限 " + MAX_OCCURRENCES);
+            }
+            return false;
+        }
+        starts.add(start);
+        return true;
+    }
+
+    private List<BatchItemResult> validateItems(List<AllocationRequest> requests) {
+        List<BatchItemResult> items = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            AllocationRequest request = requests.get(i);
+            BatchItemResult item = new BatchItemResult();
+            item.setIndex(i);
+            item.setStatus(BatchItemResult.ItemStatus.VALID);
+            item.setConflictType(ConflictType.NONE);
+            items.add(item);
+            if (request == null) {
+                reject(item, BatchItemResult.ItemStatus.INVALID, "分配条目不能为空");
+                continue;
+            }
+            item.setResourceId(request.getResourceId());
+            item.setStartTime(request.getStartTime());
+            item.setEndTime(request.getEndTime());
+            if (request.getResourceId() == null) {
+                reject(item, BatchItemResult.ItemStatus.INVALID, "资源ID不能为空");
+            } else if (request.getProjectId() == null) {
+                reject(item, BatchItemResult.ItemStatus.INVALID, "项目ID不能为空");
+            } else if (request.getStartTime() == null || request.getEndTime() == null) {
+                reject(item, BatchItemResult.ItemStatus.INVALID, "开始时间和结束时间不能为空");
+            } else if (!request.getEndTime().isAfter(request.getStartTime())) {
+                reject(item, BatchItemResult.ItemStatus.INVALID, "结束时间必须大于开始时间");
+            }
+        }
+        return items;
+    }
+
+    private void assertProjectsExist(List<AllocationRequest> requests, List<BatchItemResult> items) {
+        Set<Long> projectIds = new HashSet<>();
+        for (BatchItemResult item : items) {
+            if (isPending(item)) {
+                projectIds.add(requests.get(item.getIndex()).getProjectId());
+            }
+        }
+        if (projectIds.isEmpty()) {
+            return;
+        }
+        Set<Long> existing = projectMapper.findByIds(projectIds).stream()
+                .map(Project::getId)
+                .collect(Collectors.toSet());
+        for (BatchItemResult item : items) {
+            if (!isPending(item)) {
+                continue;
+            }
+            Long projectId = requests.get(item.getIndex()).getProjectId();
+            if (!existing.contains(projectId)) {
+                reject(item, BatchItemResult.ItemStatus.INVALID, "项目不存在: id=" + projectId);
+            }
+        }
+    }
+
+    private void lockResources(List<BatchItemResult> items) {
+        TreeSet<Long> resourceIds = new TreeSet<>();
+        for (BatchItemResult item : items) {
+            if (isPending(item)) {
+                resourceIds.add(item.getResourceId());
+            }
+        }
+        if (resourceIds.isEmpty()) {
+            return;
+        }
+        Set<Long> locked = resourceMapper.lockByIds(resourceIds).stream()
+                .map(Resource::getId)
+                .collect(Collectors.toSet());
+        for (BatchItemResult item : items) {
+            if (isPending(item) && !locked.contains(item.getResourceId())) {
+                reject(item, BatchItemResult.ItemStatus.INVALID, "资源不存在: id=" + item.getResourceId());
+            }
+        }
+    }
+
+    /**
+     * 一次查询取各资源在自身条目时间范围内的已有占用，按资源分组后组内按开始时间排序扫描批次内重叠
+     * SLOT_CLAIM 模式下分配之间按向外取整到时间槽的区间比较（共享时间槽即冲突），与维护窗口仍按实际时间比较
+     */
+    private void detectConflicts(List<BatchItemResult> items) {
+        boolean slotClaim = allocationSlotService.isEnabled();
+        Map<Long, List<BatchItemResult>> byResource = new LinkedHashMap<>();
+        Map<Long, ResourceRange> ranges = new LinkedHashMap<>();
+        for (BatchItemResult item : items) {
+            if (isPending(item)) {
+                byResource.computeIfAbsent(item.getResourceId(), key -> new ArrayList<>()).add(item);
+                LocalDateTime start = claimStart(item, slotClaim);
+                LocalDateTime end = claimEnd(item, slotClaim);
+                ResourceRange range = ranges.computeIfAbsent(item.getResourceId(),
+                        key -> new ResourceRange(key, start, end));
+                if (start.isBefore(range.getStartTime())) {
+                    range.setStartTime(start);
+                }
+                if (end.isAfter(range.getEndTime())) {
+                    range.setEndTime(end);
+                }
+            }
+        }
+        if (byResource.isEmpty()) {
+            return;
+        }
+        Map<Long, ResourceTimeline> timelines = scheduleIndex.loadRanges(ranges.values());
+
+        for (Map.Entry<Long, List<BatchItemResult>> entry : byResource.entrySet()) {
+            List<BatchItemResult> group = entry.getValue();
+            group.sort(Comparator.comparing(BatchItemResult::getStartTime)
+                    .thenComparingInt(BatchItemResult::getIndex));
+            ResourceTimeline existing = timelines.get(entry.getKey());
+
+            BatchItemResult previous = null;
+            for (BatchItemResult item : group) {
+                ConflictType conflictType = existing.detectConflictType(
+                        ScheduleInterval.toMillis(item.getStartTime()),
+                        ScheduleInterval.toMillis(item.getEndTime()),
+                        null
+                );
+                if (slotClaim && conflictType != ConflictType.HARD && existing.findOverlaps(
+                                ScheduleInterval.toMillis(claimStart(item, true)),
+                                ScheduleInterval.toMillis(claimEnd(item, true)),
+                                null).stream()
+                        .anyMatch(interval -> interval.getKind() == ScheduleInterval.Kind.ALLOCATION)) {
+                    conflictType = ConflictType.HARD;
+                }
+                item.setConflictType(conflictType);
+                if (conflictType == ConflictType.HARD) {
+                    reject(item, BatchItemResult.ItemStatus.CONFLICT, "资源在该时间段内已被占用或处于维护窗口");
+                } else if (previous != null && claimEnd(previous, slotClaim).isAfter(claimStart(item, slotClaim))) {
+                    item.setConflictType(ConflictType.HARD);
+                    reject(item, BatchItemResult.ItemStatus.CONFLICT,
+                            "与批次内第" + (previous.getIndex() + 1) + "条"
+                                    + (previous.getEndTime().isAfter(item.getStartTime()) ? "时间重叠" : "占用同一时间槽"));
+                } else {
+                    if (conflictType == ConflictType.SOFT) {
+                        item.setMessage("该时间段存在软冲突（维护建议）");
+                    }
+                    previous = item;
+                }
+            }
+        }
+    }
+
+    /**
+     * 条目占用区间的起止；SLOT_CLAIM 模式下向外取整到时间槽
+     */
+    private LocalDateTime claimStart(BatchItemResult item, boolean slotClaim) {
+        return slotClaim ? allocationSlotService.floorToSlot(item.getStartTime()) : item.getStartTime();
+    }
+
+    private LocalDateTime claimEnd(BatchItemResult item, boolean slotClaim) {
+        return slotClaim ? allocationSlotService.ceilToSlot(item.getEndTime()) : item.getEndTime();
+    }
+
+    /**
+     * 写入仍待处理（未冲突）的条目
+     */
+    private List<Allocation> insertAll(List<AllocationRequest> requests, List<BatchItemResult> items) {
+        List<BatchItemResult> pending = new ArrayList<>(items.size());
+        List<Allocation> allocations = new ArrayList<>(items.size());
+        for (BatchItemResult item : items) {
+            if (!isPending(item)) {
+                continue;
+            }
+            AllocationRequest request = requests.get(item.getIndex());
+            pending.add(item);
+            Allocation allocation = new Allocation();
+            allocation.setResourceId(request.getResourceId());
+            allocation.setProjectId(request.getProjectId());
+            allocation.setStartTime(request.getStartTime());
+            allocation.setEndTime(request.getEndTime());
+            allocation.setRemark(request.getRemark());
+            allocation.setStatus(Allocation.AllocationStatus.ACTIVE);
+            allocations.add(allocation);
+        }
+        for (int from = 0; from < allocations.size(); from += INSERT_CHUNK_SIZE) {
+            allocationMapper.insertBatch(allocations.subList(from, Math.min(from + INSERT_CHUNK_SIZE, allocations.size())));
+        }
+        if (allocationSlotService.isEnabled()) {
+            // 与单条 SLOT_CLAIM 写入并发时，由时间槽约束兜底
+            allocationSlotService.claimAll(allocations);
+        }
+        if (schedulingProperties.getAllocation().getWriteMode() == SchedulingProperties.WriteMode.OPTIMISTIC) {
+            // 已持有资源行锁，递增日程版本号使并发的乐观写入在提交前重新检测
+            Set<Long> resourceIds = allocations.stream()
+                    .map(Allocation::getResourceId)
+                    .collect(Collectors.toCollection(TreeSet::new));
+            resourceMapper.incrementScheduleVersions(resourceIds);
+            entityCache.evictResources(resourceIds);
+        }
+        for (int i = 0; i < allocations.size(); i++) {
+            Allocation allocation = allocations.get(i);
+            BatchItemResult item = pending.get(i);
+            item.setStatus(BatchItemResult.ItemStatus.CREATED);
+            item.setAllocationId(allocation.getId());
+            scheduleIndex.onAllocationSaved(allocation, null);
+        }
+        dataVersions.changed(DataVersions.Scope.ALLOCATIONS,
+                allocations.stream().map(Allocation::getResourceId).toList());
+        return allocations;
+    }
+
+    private boolean isPending(BatchItemResult item) {
+        return item.getStatus() == BatchItemResult.ItemStatus.VALID;
+    }
+
+    private void reject(BatchItemResult item, BatchItemResult.ItemStatus status, String message) {
+        item.setStatus(status);
+        item.setMessage(message);
+    }
+
+    private long countByStatus(List<BatchItemResult> items, BatchItemResult.ItemStatus status) {
+        return items.stream().filter(item -> item.getStatus() == status).count();
+    }
+}
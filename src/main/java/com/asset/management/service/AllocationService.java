@@ -1,22 +1,50 @@
 package com.asset.management.service;
 
+import com.asset.management.config.SchedulingProperties;
+import com.asset.management.dto.AllocationConflictRequest;
 import com.asset.management.dto.AllocationRequest;
+import com.asset.management.dto.AutoBookRequest;
 import com.asset.management.entity.Allocation;
 import com.asset.management.dto.ConflictCheckResponse;
+import com.asset.management.dto.ConflictDetail;
 import com.asset.management.dto.ConflictType;
+import com.asset.management.dto.PageCursor;
+import com.asset.management.dto.PageResult;
+import com.asset.management.dto.ResourceRange;
 import com.asset.management.entity.MaintenanceWindow;
+import com.asset.management.entity.Resource;
 import com.asset.management.exception.ResourceConflictException;
 import com.asset.management.mapper.AllocationMapper;
 import com.asset.management.mapper.MaintenanceWindowMapper;
-import com.asset.management.mapper.ProjectMapper;
 import com.asset.management.mapper.ResourceMapper;
+import com.asset.management.schedule.ResourceTimeline;
+import com.asset.management.schedule.ScheduleIndex;
+import com.asset.management.schedule.ScheduleInterval;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * 资源分配服务类
@@ -29,10 +57,38 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AllocationService {
     
+    /**
+     * OPTIMISTIC 模式重试前的随机退避上限（毫秒），随重试次数翻倍，错开并发写入
+     */
+    private static final long RETRY_BACKOFF_MILLIS = 10;
+    
     private final AllocationMapper allocationMapper;
     private final ResourceMapper resourceMapper;
-    private final ProjectMapper projectMapper;
     private final MaintenanceWindowMapper maintenanceWindowMapper;
+    private final ScheduleIndex scheduleIndex;
+    private final DataVersions dataVersions;
+    private final EntityCache entityCache;
+    private final SchedulingProperties schedulingProperties;
+    private final AllocationSlotService allocationSlotService;
+    private final AllocationWriteMetrics writeMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final PageSupport pageSupport;
+    private final DataSource dataSource;
+    
+    /**
+     * 数据库是否提供 CONDITIONAL_INSERT 所需的间隙锁，首次使用时检测
+     */
+    private volatile Boolean gapLocking;
+    
+    /**
+     * 配置为 CONDITIONAL_INSERT 时启动即校验数据库是否支持
+     */
+    @PostConstruct
+    public void checkWriteMode() {
+        if (schedulingProperties.getAllocation().getWriteMode() == SchedulingProperties.WriteMode.CONDITIONAL_INSERT) {
+            requireGapLocking();
+        }
+    }
     
     /**
      * 查询所有分配记录
@@ -41,6 +97,17 @@ public class AllocationService {
         return allocationMapper.findAll();
     }
     
+    /**
+     * 键集分页查询分配记录，resourceId、projectId 可选
+     */
+    public PageResult<Allocation> findPage(Long resourceId, Long projectId, Integer limit, String cursor) {
+        int pageSize = pageSupport.resolveLimit(limit);
+        List<Allocation> rows = allocationMapper.findPage(
+                pageSupport.decodeByStartTime(cursor), resourceId, projectId, pageSize + 1);
+        return pageSupport.toPage(rows, pageSize,
+                allocation -> new PageCursor(allocation.getStartTime(), allocation.getId()));
+    }
+    
     /**
      * 根据ID查询分配记录
      */
@@ -70,27 +137,37 @@ public class AllocationService {
      * @return 分配记录
      * @throws ResourceConflictException 当资源时间冲突时抛出
      */
-    @Transactional(rollbackFor = Exception.class)
     public Allocation createAllocation(AllocationRequest request) {
+        return executeWrite(() -> doCreateAllocation(request));
+    }
+    
+    private Allocation doCreateAllocation(AllocationRequest request) {
         // 1. 参数校验
         validateAllocationTime(request.getStartTime(), request.getEndTime());
-        assertResourceExistsWithLock(request.getResourceId());
+        SchedulingProperties.WriteMode writeMode = schedulingProperties.getAllocation().getWriteMode();
+        if (writeMode == SchedulingProperties.WriteMode.CONDITIONAL_INSERT) {
+            return createAllocationConditionally(request);
+        }
+        boolean slotClaim = writeMode == SchedulingProperties.WriteMode.SLOT_CLAIM;
+        Resource resource = loadResource(request.getResourceId(), writeMode);
         assertProjectExists(request.getProjectId());
         
         // 2. 核心冲突检测
-        ConflictType conflictType = detectConflictType(
+        List<ScheduleInterval> overlaps = findOverlaps(
                 request.getResourceId(),
                 request.getStartTime(),
                 request.getEndTime(),
                 null
         );
+        ConflictType conflictType = ResourceTimeline.conflictTypeOf(overlaps);
         
         if (conflictType == ConflictType.HARD) {
             log.warn("资源分配冲突: resourceId={}, startTime={}, endTime={}", 
                     request.getResourceId(), request.getStartTime(), request.getEndTime());
             throw new ResourceConflictException(
                     String.format("资源在时间段 [%s ~ %s] 内已被占用，分配失败！", 
-                            request.getStartTime(), request.getEndTime())
+                            request.getStartTime(), request.getEndTime()),
+                    toConflictDetails(overlaps, request.getStartTime(), request.getEndTime())
             );
         }
         if (conflictType == ConflictType.SOFT) {
@@ -108,6 +185,15 @@ public class AllocationService {
         allocation.setStatus(Allocation.AllocationStatus.ACTIVE);
         
         allocationMapper.insert(allocation);
+        if (slotClaim) {
+            // 时间槽主键约束是并发写入的最终仲裁
+            allocationSlotService.claim(allocation);
+        }
+        if (writeMode == SchedulingProperties.WriteMode.OPTIMISTIC) {
+            advanceScheduleVersion(resource);
+        }
+        scheduleIndex.onAllocationSaved(allocation, null);
+        dataVersions.changed(DataVersions.Scope.ALLOCATIONS, allocation.getResourceId());
         
         log.info("资源分配成功: id={}, resourceId={}, projectId={}", 
                 allocation.getId(), allocation.getResourceId(), allocation.getProjectId());
@@ -115,11 +201,108 @@ public class AllocationService {
         return allocation;
     }
     
+    /**
+     * 条件插入方式创建分配
+     * 冲突检测与插入由一条 INSERT ... SELECT ... WHERE NOT EXISTS 完成，不锁资源行；
+     * 仅在未插入时再查询失败原因，软冲突提示优先由内存索引判定。
+     * 并发插入互斥依赖 InnoDB 在 REPEATABLE READ 下对扫描范围加的间隙锁，其他数据库或隔离级别拒绝使用
+     */
+    private Allocation createAllocationConditionally(AllocationRequest request) {
+        if (request.getResourceId() == null) {
+            throw new IllegalArgumentException("资源ID不能为空");
+        }
+        if (request.getProjectId() == null) {
+            throw new IllegalArgumentException("项目ID不能为空");
+        }
+
+        Allocation allocation = new Allocation();
+        allocation.setResourceId(request.getResourceId());
+        allocation.setProjectId(request.getProjectId());
+        allocation.setStartTime(request.getStartTime());
+        allocation.setEndTime(request.getEndTime());
+        allocation.setRemark(request.getRemark());
+        allocation.setStatus(Allocation.AllocationStatus.ACTIVE);
+
+        requireGapLocking();
+        // 并发插入同一资源的相邻区间时，InnoDB 间隙锁可能判定死锁，由 executeWrite 在新事务中重试
+        int inserted = allocationMapper.insertIfNoConflict(allocation);
+        if (inserted == 0) {
+            if (entityCache.resource(request.getResourceId()) == null) {
+                throw new IllegalArgumentException("资源不存在: id=" + request.getResourceId());
+            }
+            assertProjectExists(request.getProjectId());
+            log.warn("资源分配冲突: resourceId={}, startTime={}, endTime={}",
+                    request.getResourceId(), request.getStartTime(), request.getEndTime());
+            throw new ResourceConflictException(
+                    String.format("资源在时间段 [%s ~ %s] 内已被占用，分配失败！",
+                            request.getStartTime(), request.getEndTime()),
+                    toConflictDetails(
+                            findOverlaps(request.getResourceId(), request.getStartTime(), request.getEndTime(), null),
+                            request.getStartTime(), request.getEndTime())
+            );
+        }
+
+        boolean soft = schedulingProperties.getIndex().isEnabled() && scheduleIndex.isLoaded(request.getResourceId())
+                ? scheduleIndex.detectConflictType(request.getResourceId(),
+                        request.getStartTime(), request.getEndTime(), allocation.getId()) == ConflictType.SOFT
+                : maintenanceWindowMapper.findConflicts(request.getResourceId(),
+                        request.getStartTime(), request.getEndTime()).stream()
+                        .anyMatch(window -> window.getType() == MaintenanceWindow.MaintenanceType.SOFT);
+        if (soft) {
+            log.warn("资源分配软冲突: resourceId={}, startTime={}, endTime={}",
+                    request.getResourceId(), request.getStartTime(), request.getEndTime());
+        }
+        scheduleIndex.onAllocationSaved(allocation, null);
+        dataVersions.changed(DataVersions.Scope.ALLOCATIONS, allocation.getResourceId());
+
+        log.info("资源分配成功(条件插入): id={}, resourceId={}, projectId={}",
+                allocation.getId(), allocation.getResourceId(), allocation.getProjectId());
+        return allocation;
+    }
+    
+    /**
+     * 按类别自动选择一个可用资源并预订
+     * 一条集合查询取出候选资源后依次尝试预订，每次尝试都走完整的写入路径（按当前写入方式加锁或仲裁）；
+     * 候选资源在查询后被并发占用时换下一个，全部失败才返回冲突
+     *
+     * @throws ResourceConflictException 类别下没有可预订的资源
+     */
+    public Allocation autoBook(AutoBookRequest request) {
+        if (request.getCategoryId() == null) {
+            throw new IllegalArgumentException("类别ID不能为空");
+        }
+        validateAllocationTime(request.getStartTime(), request.getEndTime());
+        assertProjectExists(request.getProjectId());
+
+        List<Resource> candidates = resourceMapper.findAvailableByCategory(
+                request.getCategoryId(), request.getStartTime(), request.getEndTime());
+        for (Resource candidate : candidates) {
+            AllocationRequest allocationRequest = new AllocationRequest();
+            allocationRequest.setResourceId(candidate.getId());
+            allocationRequest.setProjectId(request.getProjectId());
+            allocationRequest.setStartTime(request.getStartTime());
+            allocationRequest.setEndTime(request.getEndTime());
+            allocationRequest.setRemark(request.getRemark());
+            try {
+                return createAllocation(allocationRequest);
+            } catch (ResourceConflictException e) {
+                log.debug("候选资源已被占用，尝试下一个: resourceId={}", candidate.getId());
+            }
+        }
+        throw new ResourceConflictException(
+                String.format("类别下没有在时间段 [%s ~ %s] 内可用的资源: categoryId=%d",
+                        request.getStartTime(), request.getEndTime(), request.getCategoryId())
+        );
+    }
+    
     /**
      * 更新资源分配
      */
-    @Transactional(rollbackFor = Exception.class)
     public Allocation updateAllocation(Long id, AllocationRequest request) {
+        return executeWrite(() -> doUpdateAllocation(id, request));
+    }
+    
+    private Allocation doUpdateAllocation(Long id, AllocationRequest request) {
         // 1. 检查记录是否存在
         Allocation existing = allocationMapper.findById(id);
         if (existing == null) {
@@ -128,21 +311,25 @@ public class AllocationService {
         
         // 2. 参数校验
         validateAllocationTime(request.getStartTime(), request.getEndTime());
-        assertResourceExistsWithLock(request.getResourceId());
+        SchedulingProperties.WriteMode writeMode = schedulingProperties.getAllocation().getWriteMode();
+        boolean slotClaim = writeMode == SchedulingProperties.WriteMode.SLOT_CLAIM;
+        Resource resource = loadResource(request.getResourceId(), writeMode);
         assertProjectExists(request.getProjectId());
         
         // 3. 冲突检测（排除当前记录）
-        ConflictType conflictType = detectConflictType(
+        List<ScheduleInterval> overlaps = findOverlaps(
                 request.getResourceId(),
                 request.getStartTime(),
                 request.getEndTime(),
                 id
         );
+        ConflictType conflictType = ResourceTimeline.conflictTypeOf(overlaps);
         
         if (conflictType == ConflictType.HARD) {
             throw new ResourceConflictException(
                     String.format("资源在时间段 [%s ~ %s] 内已被占用，更新失败！", 
-                            request.getStartTime(), request.getEndTime())
+                            request.getStartTime(), request.getEndTime()),
+                    toConflictDetails(overlaps, request.getStartTime(), request.getEndTime())
             );
         }
         if (conflictType == ConflictType.SOFT) {
@@ -151,6 +338,7 @@ public class AllocationService {
         }
         
         // 4. 更新记录
+        Long previousResourceId = existing.getResourceId();
         existing.setResourceId(request.getResourceId());
         existing.setProjectId(request.getProjectId());
         existing.setStartTime(request.getStartTime());
@@ -158,6 +346,18 @@ public class AllocationService {
         existing.setRemark(request.getRemark());
         
         allocationMapper.update(existing);
+        if (slotClaim) {
+            // 时间槽随分配移动：先释放旧槽，再按新时间段认领
+            allocationSlotService.release(id);
+            if (existing.getStatus() == Allocation.AllocationStatus.ACTIVE) {
+                allocationSlotService.claim(existing);
+            }
+        }
+        if (writeMode == SchedulingProperties.WriteMode.OPTIMISTIC) {
+            advanceScheduleVersion(resource);
+        }
+        scheduleIndex.onAllocationSaved(existing, previousResourceId);
+        dataVersions.changed(DataVersions.Scope.ALLOCATIONS, Arrays.asList(previousResourceId, existing.getResourceId()));
         
         log.info("资源分配更新成功: id={}", id);
         
@@ -176,6 +376,11 @@ public class AllocationService {
         
         allocation.setStatus(Allocation.AllocationStatus.CANCELLED);
         allocationMapper.update(allocation);
+        if (allocationSlotService.isEnabled()) {
+            allocationSlotService.release(id);
+        }
+        scheduleIndex.onAllocationSaved(allocation, null);
+        dataVersions.changed(DataVersions.Scope.ALLOCATIONS, allocation.getResourceId());
         
         log.info("资源分配已取消: id={}", id);
     }
@@ -185,7 +390,12 @@ public class AllocationService {
      */
     @Transactional(rollbackFor = Exception.class)
     public void deleteAllocation(Long id) {
+        Allocation allocation = allocationMapper.findById(id);
         allocationMapper.deleteById(id);
+        if (allocation != null) {
+            scheduleIndex.onAllocationRemoved(allocation.getResourceId(), id);
+            dataVersions.changed(DataVersions.Scope.ALLOCATIONS, allocation.getResourceId());
+        }
         log.info("资源分配已删除: id={}", id);
     }
     
@@ -201,16 +411,87 @@ public class AllocationService {
      * 1. 完全重叠：B完全包含在A内
      * 2. 部分重叠：B的开始或结束时间在A的范围内
      * 3. 完全覆盖：B完全覆盖A
-     * 
+     *
+     * 启用内存索引时直接由索引应答，不访问数据库
+     *
      * @param resourceId 资源ID
      * @param startTime 开始时间
      * @param endTime 结束时间
      * @return true-有冲突，false-无冲突
      */
     public ConflictCheckResponse checkConflict(Long resourceId, LocalDateTime startTime, LocalDateTime endTime) {
-        ConflictType conflictType = detectConflictType(resourceId, startTime, endTime, null);
-        boolean hasConflict = conflictType != ConflictType.NONE;
-        return new ConflictCheckResponse(hasConflict, conflictType, buildConflictMessage(conflictType));
+        List<ScheduleInterval> overlaps = schedulingProperties.getIndex().isEnabled()
+                ? findOverlapsFromIndex(resourceId, startTime, endTime)
+                : findOverlaps(resourceId, startTime, endTime, null);
+        return buildConflictResponse(overlaps, startTime, endTime);
+    }
+    
+    /**
+     * 批量冲突检测
+     * 
+     * 结果按请求顺序逐条交给 sink，便于调用方边算边输出。
+     * 启用内存索引时逐条查索引；否则一次查询取出各资源覆盖其全部待检测时间段的占用，
+     * 在内存时间轴上判定，数据库往返次数与请求条数、资源数无关。
+     * 
+     * @param requests 待检测的资源/时间段列表
+     * @param sink 检测结果接收方
+     */
+    public void checkConflicts(List<AllocationConflictRequest> requests, Consumer<ConflictCheckResponse> sink) {
+        validateConflictRequests(requests);
+        boolean useIndex = schedulingProperties.getIndex().isEnabled();
+        Map<Long, ResourceTimeline> timelines = useIndex ? Map.of() : loadConflictRanges(requests);
+        for (AllocationConflictRequest request : requests) {
+            List<ScheduleInterval> overlaps;
+            if (useIndex) {
+                overlaps = scheduleIndex.findOverlaps(
+                        request.getResourceId(), request.getStartTime(), request.getEndTime(), null);
+            } else {
+                overlaps = timelines.get(request.getResourceId()).findOverlaps(
+                        ScheduleInterval.toMillis(request.getStartTime()),
+                        ScheduleInterval.toMillis(request.getEndTime()),
+                        null
+                );
+            }
+            sink.accept(buildConflictResponse(overlaps, request.getStartTime(), request.getEndTime()));
+        }
+    }
+
+    /**
+     * 一次查询取各资源在自身待检测时间段范围内的占用
+     */
+    private Map<Long, ResourceTimeline> loadConflictRanges(List<AllocationConflictRequest> requests) {
+        Map<Long, ResourceRange> ranges = new LinkedHashMap<>();
+        for (AllocationConflictRequest request : requests) {
+            ResourceRange range = ranges.computeIfAbsent(request.getResourceId(),
+                    key -> new ResourceRange(key, request.getStartTime(), request.getEndTime()));
+            if (request.getStartTime().isBefore(range.getStartTime())) {
+                range.setStartTime(request.getStartTime());
+            }
+            if (request.getEndTime().isAfter(range.getEndTime())) {
+                range.setEndTime(request.getEndTime());
+            }
+        }
+        return scheduleIndex.loadRanges(ranges.values());
+    }
+    
+    /**
+     * 校验批量冲突检测参数（流式输出开始前调用，以便参数错误仍能正常返回400）
+     */
+    public void validateConflictRequests(List<AllocationConflictRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("检测列表不能为空");
+        }
+        for (int i = 0; i < requests.size(); i++) {
+            AllocationConflictRequest request = requests.get(i);
+            if (request == null || request.getResourceId() == null) {
+                throw new IllegalArgumentException("第" + (i + 1) + "条: 资源ID不能为空");
+            }
+            try {
+                validateAllocationTime(request.getStartTime(), request.getEndTime());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("第" + (i + 1) + "条: " + e.getMessage());
+            }
+        }
     }
     
     /**
@@ -226,10 +507,14 @@ public class AllocationService {
         }
     }
 
-    private ConflictType detectConflictType(Long resourceId,
-                                            LocalDateTime startTime,
-                                            LocalDateTime endTime,
-                                            Long excludeAllocationId) {
+    /**
+     * 查询与时间段重叠的ACTIVE分配与维护窗口，按开始时间升序
+     * 冲突类型与冲突明细都由这一次查询结果得出
+     */
+    private List<ScheduleInterval> findOverlaps(Long resourceId,
+                                                LocalDateTime startTime,
+                                                LocalDateTime endTime,
+                                                Long excludeAllocationId) {
         if (resourceId == null) {
             throw new IllegalArgumentException("资源ID不能为空");
         }
@@ -244,21 +529,63 @@ public class AllocationService {
         List<MaintenanceWindow> maintenanceConflicts =
                 maintenanceWindowMapper.findConflicts(resourceId, startTime, endTime);
 
-        boolean maintenanceHard = maintenanceConflicts.stream()
-                .anyMatch(window -> window.getType() == MaintenanceWindow.MaintenanceType.HARD);
-        boolean maintenanceSoft = maintenanceConflicts.stream()
-                .anyMatch(window -> window.getType() == MaintenanceWindow.MaintenanceType.SOFT);
-
-        if (!allocationConflicts.isEmpty() || maintenanceHard) {
-            log.debug("检测到硬冲突: resourceId={}, 分配冲突数={}, 维护冲突数={}",
+        List<ScheduleInterval> overlaps = new ArrayList<>(allocationConflicts.size() + maintenanceConflicts.size());
+        for (Allocation allocation : allocationConflicts) {
+            overlaps.add(ScheduleInterval.of(allocation));
+        }
+        for (MaintenanceWindow window : maintenanceConflicts) {
+            overlaps.add(ScheduleInterval.of(window));
+        }
+        overlaps.sort(Comparator.comparingLong(ScheduleInterval::getStart));
+        if (!overlaps.isEmpty()) {
+            log.debug("检测到冲突: resourceId={}, 分配冲突数={}, 维护冲突数={}",
                     resourceId, allocationConflicts.size(), maintenanceConflicts.size());
-            return ConflictType.HARD;
         }
-        if (maintenanceSoft) {
-            log.debug("检测到软冲突: resourceId={}, 维护冲突数={}", resourceId, maintenanceConflicts.size());
-            return ConflictType.SOFT;
+        return overlaps;
+    }
+
+    private List<ScheduleInterval> findOverlapsFromIndex(Long resourceId,
+                                                         LocalDateTime startTime,
+                                                         LocalDateTime endTime) {
+        if (resourceId == null) {
+            throw new IllegalArgumentException("资源ID不能为空");
+        }
+        validateAllocationTime(startTime, endTime);
+        return scheduleIndex.findOverlaps(resourceId, startTime, endTime, null);
+    }
+
+    private ConflictCheckResponse buildConflictResponse(List<ScheduleInterval> overlaps,
+                                                        LocalDateTime startTime,
+                                                        LocalDateTime endTime) {
+        ConflictType conflictType = ResourceTimeline.conflictTypeOf(overlaps);
+        return new ConflictCheckResponse(
+                conflictType != ConflictType.NONE,
+                conflictType,
+                buildConflictMessage(conflictType),
+                toConflictDetails(overlaps, startTime, endTime)
+        );
+    }
+
+    private List<ConflictDetail> toConflictDetails(List<ScheduleInterval> overlaps,
+                                                   LocalDateTime startTime,
+                                                   LocalDateTime endTime) {
+        List<ConflictDetail> details = new ArrayList<>(overlaps.size());
+        for (ScheduleInterval interval : overlaps) {
+            LocalDateTime overlapStart = interval.getStartTime().isAfter(startTime) ? interval.getStartTime() : startTime;
+            LocalDateTime overlapEnd = interval.getEndTime().isBefore(endTime) ? interval.getEndTime() : endTime;
+            details.add(new ConflictDetail(
+                    interval.getKind().name(),
+                    interval.getId(),
+                    interval.getProjectId(),
+                    interval.getLevel(),
+                    interval.getStartTime(),
+                    interval.getEndTime(),
+                    overlapStart,
+                    overlapEnd,
+                    Duration.between(overlapStart, overlapEnd).toMinutes()
+            ));
         }
-        return ConflictType.NONE;
+        return details;
     }
 
     private String buildConflictMessage(ConflictType conflictType) {
@@ -271,20 +598,126 @@ public class AllocationService {
         return "资源可用";
     }
 
-    private void assertResourceExistsWithLock(Long resourceId) {
+    /**
+     * 在事务中执行单条分配写入并记录统计
+     * OPTIMISTIC 模式下日程版本号不一致、CONDITIONAL_INSERT 模式下间隙锁死锁时整个事务已回滚，
+     * 在新事务中重新读取、检测并重试；调用方已处于外部事务时无法单独重试，直接按冲突失败
+     */
+    private <T> T executeWrite(Supplier<T> write) {
+        SchedulingProperties.WriteMode writeMode = schedulingProperties.getAllocation().getWriteMode();
+        boolean retryable = (writeMode == SchedulingProperties.WriteMode.OPTIMISTIC
+                || writeMode == SchedulingProperties.WriteMode.CONDITIONAL_INSERT)
+                && !TransactionSynchronizationManager.isActualTransactionActive();
+        int maxRetries = retryable ? Math.max(0, schedulingProperties.getAllocation().getMaxRetries()) : 0;
+        long begin = System.nanoTime();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                T result = transactionTemplate.execute(status -> write.get());
+                writeMetrics.recordCommitted(System.nanoTime() - begin);
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxRetries) {
+                    log.warn("资源日程版本冲突，重试已用尽: 重试次数={}", attempt);
+                    writeMetrics.recordRetriesExhausted();
+                    writeMetrics.recordConflict(System.nanoTime() - begin);
+                    throw new ResourceConflictException("资源日程正被并发修改，请稍后重试", e);
+                }
+                log.debug("资源日程版本冲突，重试: 第{}次", attempt + 1);
+                writeMetrics.recordRetry();
+                backoff(attempt);
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= maxRetries) {
+                    log.warn("资源锁冲突，重试已用尽: 重试次数={}, 原因={}", attempt, e.getMessage());
+                    writeMetrics.recordRetriesExhausted();
+                    writeMetrics.recordConflict(System.nanoTime() - begin);
+                    throw new ResourceConflictException("资源正被并发预订，请稍后重试", e);
+                }
+                log.debug("资源锁冲突，重试: 第{}次", attempt + 1);
+                writeMetrics.recordRetry();
+                backoff(attempt);
+            } catch (ResourceConflictException e) {
+                writeMetrics.recordConflict(System.nanoTime() - begin);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * CONDITIONAL_INSERT 的并发正确性依赖 MySQL InnoDB 的间隙锁：REPEATABLE READ 及以上隔离级别下，
+     * INSERT ... SELECT 对扫描到的索引范围加共享 next-key 锁，并发插入重叠区间时后者阻塞或死锁回滚。
+     * H2 等没有间隙锁的数据库、READ COMMITTED 隔离级别下同一条语句会提交重叠分配，因此拒绝该写入方式
+     */
+    private void requireGapLocking() {
+        Boolean supported = gapLocking;
+        if (supported == null) {
+            // 事务中复用事务绑定的连接，不额外占用连接
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                String product = connection.getMetaData().getDatabaseProductName();
+                supported = ("MySQL".equalsIgnoreCase(product) || "MariaDB".equalsIgnoreCase(product))
+                        && connection.getTransactionIsolation() >= Connection.TRANSACTION_REPEATABLE_READ;
+                if (!supported) {
+                    log.error("CONDITIONAL_INSERT 写入方式不受支持: 数据库={}, 隔离级别={}",
+                            product, connection.getTransactionIsolation());
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("无法读取数据库信息: " + e.getMessage(), e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+            gapLocking = supported;
+        }
+        if (!supported) {
+            throw new IllegalStateException("CONDITIONAL_INSERT 写入方式依赖 InnoDB 间隙锁，"
+                    + "仅支持 REPEATABLE READ 隔离级别的 MySQL，请改用其他写入方式");
+        }
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(RETRY_BACKOFF_MILLIS << attempt) + 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceConflictException("资源日程正被并发修改，请稍后重试", e);
+        }
+    }
+
+    /**
+     * 按写入方式读取资源并校验存在
+     * LOCKING 锁定资源行；SLOT_CLAIM 由时间槽约束仲裁、OPTIMISTIC 由日程版本号仲裁，均无需加锁
+     * SLOT_CLAIM 只需校验存在，读缓存；LOCKING 与 OPTIMISTIC 分别需要行锁与最新日程版本号，查询数据库
+     */
+    private Resource loadResource(Long resourceId, SchedulingProperties.WriteMode writeMode) {
         if (resourceId == null) {
             throw new IllegalArgumentException("资源ID不能为空");
         }
-        if (resourceMapper.lockById(resourceId) == null) {
+        Resource resource = switch (writeMode) {
+            case LOCKING -> resourceMapper.lockById(resourceId);
+            case SLOT_CLAIM -> entityCache.resource(resourceId);
+            default -> resourceMapper.findById(resourceId);
+        };
+        if (resource == null) {
             throw new IllegalArgumentException("资源不存在: id=" + resourceId);
         }
+        return resource;
+    }
+
+    /**
+     * 比较并递增资源日程版本号
+     * 版本号在冲突检测之前读取，不一致说明检测期间有其他写入提交，本次检测结果已不可信
+     */
+    private void advanceScheduleVersion(Resource resource) {
+        if (resourceMapper.compareAndIncrementScheduleVersion(resource.getId(), resource.getScheduleVersion()) == 0) {
+            throw new OptimisticLockingFailureException("资源日程已被并发修改: id=" + resource.getId());
+        }
+        entityCache.evictResource(resource.getId());
     }
 
     private void assertProjectExists(Long projectId) {
         if (projectId == null) {
             throw new IllegalArgumentException("项目ID不能为空");
         }
-        if (projectMapper.findById(projectId) == null) {
+        if (entityCache.project(projectId) == null) {
             throw new IllegalArgumentException("项目不存在: id=" + projectId);
         }
     }
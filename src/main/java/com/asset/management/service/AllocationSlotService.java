@@ -0,0 +1,118 @@
+package com.asset.management.service;
+
+import com.asset.management.config.SchedulingProperties;
+import com.asset.management.entity.Allocation;
+import com.asset.management.exception.ResourceConflictException;
+import com.asset.management.mapper.AllocationSlotMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分配时间槽服务（SLOT_CLAIM 写入模式）
+ *
+ * 分配按固定粒度拆分为时间槽写入 t_allocation_slot，(resource_id, slot_start) 主键约束
+ * 代替资源行锁：不重叠的预订互不阻塞，重叠的预订在插入时间槽时违反约束而失败。
+ * 未对齐粒度的起止时间向外取整，因此共享同一个时间槽的相邻预订在该模式下视为冲突。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AllocationSlotService {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int INSERT_CHUNK_SIZE = 1000;
+
+    private final AllocationSlotMapper allocationSlotMapper;
+    private final SchedulingProperties schedulingProperties;
+
+    public boolean isEnabled() {
+        return schedulingProperties.getAllocation().getWriteMode() == SchedulingProperties.WriteMode.SLOT_CLAIM;
+    }
+
+    /**
+     * 为分配认领时间槽
+     *
+     * @throws ResourceConflictException 任一时间槽已被其他分配占用
+     */
+    public void claim(Allocation allocation) {
+        List<LocalDateTime> slots = slotsOf(allocation.getStartTime(), allocation.getEndTime());
+        try {
+            for (int from = 0; from < slots.size(); from += INSERT_CHUNK_SIZE) {
+                allocationSlotMapper.insertSlots(
+                        allocation.getResourceId(),
+                        allocation.getId(),
+                        slots.subList(from, Math.min(from + INSERT_CHUNK_SIZE, slots.size()))
+                );
+            }
+        } catch (DuplicateKeyException e) {
+            log.warn("时间槽已被占用: resourceId={}, startTime={}, endTime={}",
+                    allocation.getResourceId(), allocation.getStartTime(), allocation.getEndTime());
+            throw new ResourceConflictException(
+                    String.format("资源在时间段 [%s ~ %s] 内已被占用，分配失败！",
+                            allocation.getStartTime(), allocation.getEndTime()),
+                    e
+            );
+        }
+    }
+
+    /**
+     * 批量认领（批次内各分配已保证互不重叠）
+     */
+    public void claimAll(List<Allocation> allocations) {
+        for (Allocation allocation : allocations) {
+            claim(allocation);
+        }
+    }
+
+    /**
+     * 释放分配占用的时间槽（SLOT_CLAIM 模式下取消、更新前调用；删除分配时由外键级联删除）
+     */
+    public void release(Long allocationId) {
+        allocationSlotMapper.deleteByAllocationId(allocationId);
+    }
+
+    /**
+     * 时间段覆盖的全部时间槽开始时间，起止按粒度向外取整
+     */
+    List<LocalDateTime> slotsOf(LocalDateTime startTime, LocalDateTime endTime) {
+        int slotMinutes = slotMinutes();
+        List<LocalDateTime> slots = new ArrayList<>();
+        for (LocalDateTime slot = floorToSlot(startTime); slot.isBefore(endTime); slot = slot.plusMinutes(slotMinutes)) {
+            slots.add(slot);
+        }
+        return slots;
+    }
+
+    /**
+     * 向下取整到所在时间槽的开始
+     */
+    LocalDateTime floorToSlot(LocalDateTime time) {
+        int slotMinutes = slotMinutes();
+        LocalDateTime day = time.truncatedTo(ChronoUnit.DAYS);
+        long minuteOfDay = ChronoUnit.MINUTES.between(day, time);
+        return day.plusMinutes(minuteOfDay / slotMinutes * slotMinutes);
+    }
+
+    /**
+     * 向上取整到时间槽边界（已对齐时不变）
+     */
+    LocalDateTime ceilToSlot(LocalDateTime time) {
+        LocalDateTime floor = floorToSlot(time);
+        return floor.equals(time) ? time : floor.plusMinutes(slotMinutes());
+    }
+
+    private int slotMinutes() {
+        int slotMinutes = schedulingProperties.getAllocation().getSlotMinutes();
+        if (slotMinutes <= 0 || MINUTES_PER_DAY % slotMinutes != 0) {
+            throw new IllegalStateException("时间槽粒度必须能整除一天的分钟数: " + slotMinutes);
+        }
+        return slotMinutes;
+    }
+}
@@ -0,0 +1,66 @@
+package com.asset.management.service;
+
+import com.asset.management.config.SchedulingProperties;
+import com.asset.management.dto.WriteMetricsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单条分配写入（创建、更新）的计数与耗时统计
+ */
+@Component
+@RequiredArgsConstructor
+public class AllocationWriteMetrics {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final SchedulingProperties schedulingProperties;
+
+    private final LongAdder committed = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder retriesExhausted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    void recordCommitted(long elapsedNanos) {
+        committed.increment();
+        recordElapsed(elapsedNanos);
+    }
+
+    void recordConflict(long elapsedNanos) {
+        conflicts.increment();
+        recordElapsed(elapsedNanos);
+    }
+
+    void recordRetry() {
+        retries.increment();
+    }
+
+    void recordRetriesExhausted() {
+        retriesExhausted.increment();
+    }
+
+    public WriteMetricsResponse snapshot() {
+        WriteMetricsResponse response = new WriteMetricsResponse();
+        response.setWriteMode(schedulingProperties.getAllocation().getWriteMode().name());
+        response.setCommitted(committed.sum());
+        response.setConflicts(conflicts.sum());
+        response.setRetries(retries.sum());
+        response.setRetriesExhausted(retriesExhausted.sum());
+        long count = completed.sum();
+        response.setAverageMillis(count == 0 ? 0 : totalNanos.sum() / NANOS_PER_MILLI / count);
+        response.setMaxMillis(maxNanos.get() / NANOS_PER_MILLI);
+        return response;
+    }
+
+    private void recordElapsed(long elapsedNanos) {
+        completed.increment();
+        totalNanos.add(elapsedNanos);
+        maxNanos.accumulate(elapsedNanos);
+    }
+}
@@ -1,25 +1,47 @@
 package com.asset.management.service;
 
+import com.asset.management.config.AuthProperties;
 import com.asset.management.dto.AuthResponse;
 import com.asset.management.dto.AuthUser;
 import com.asset.management.entity.User;
+import com.asset.management.security.SessionTokenStore;
+import com.asset.management.security.SignedTokenStore;
+import com.asset.management.security.TokenStore;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 认证服务
+ * 令牌的签发与校验由 auth.mode 选择的 TokenStore 完成
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final UserService userService;
-    private final Map<String, AuthUser> sessions = new ConcurrentHashMap<>();
+    private final AuthProperties authProperties;
+    private TokenStore tokenStore;
+
+    @PostConstruct
+    void init() {
+        if (authProperties.getMode() == AuthProperties.Mode.SIGNED) {
+            String secret = authProperties.getSigningSecret();
+            if (secret == null || secret.isBlank()) {
+                log.warn("未配置 auth.signing-secret，使用随机密钥：令牌重启后失效，且不能在其他节点校验");
+            }
+            tokenStore = new SignedTokenStore(authProperties,
+                    secret == null || secret.isBlank() ? null : secret.getBytes(StandardCharsets.UTF_8));
+        } else {
+            tokenStore = new SessionTokenStore(authProperties);
+        }
+        log.info("登录令牌方式: {}", authProperties.getMode());
+    }
 
     public AuthResponse login(String username, String password) {
         User user = userService.findByUsername(username);
@@ -33,16 +55,15 @@ public class AuthService {
             return null;
         }
 
-        String token = UUID.randomUUID().toString().replace("-", "");
         String role = user.getRole() == null ? User.UserRole.USER.name() : user.getRole().name();
         AuthUser authUser = new AuthUser(user.getId(), user.getUsername(), role);
-        sessions.put(token, authUser);
+        String token = tokenStore.issue(authUser);
         return new AuthResponse(token, authUser.getUsername(), authUser.getRole());
     }
 
     public void logout(String token) {
         if (token != null && !token.isBlank()) {
-            sessions.remove(token);
+            tokenStore.revoke(token);
         }
     }
 
@@ -50,6 +71,6 @@ public class AuthService {
         if (token == null || token.isBlank()) {
             return null;
         }
-        return sessions.get(token);
+        return tokenStore.resolve(token);
     }
 }
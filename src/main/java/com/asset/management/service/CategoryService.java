@@ -1,5 +1,6 @@
 package com.asset.management.service;
 
+import com.asset.management.dto.EntityCacheStats;
 import com.asset.management.entity.Category;
 import com.asset.management.mapper.CategoryMapper;
 import lombok.RequiredArgsConstructor;
@@ -18,36 +19,47 @@ import java.util.List;
 public class CategoryService {
     
     private final CategoryMapper categoryMapper;
+    private final EntityCache entityCache;
+    private final DataVersions dataVersions;
     
     public List<Category> findAll() {
         return categoryMapper.findAll();
     }
     
     public Category findById(Long id) {
-        return categoryMapper.findById(id);
+        return entityCache.category(id);
+    }
+    
+    public EntityCacheStats cacheStats() {
+        return entityCache.categoryStats();
     }
     
     @Transactional(rollbackFor = Exception.class)
     public Category createCategory(Category category) {
         categoryMapper.insert(category);
+        dataVersions.changed(DataVersions.Scope.CATEGORIES, List.of());
         return category;
     }
     
     @Transactional(rollbackFor = Exception.class)
     public Category updateCategory(Long id, Category category) {
-        Category existing = categoryMapper.findById(id);
+        Category existing = entityCache.category(id);
         if (existing == null) {
             throw new IllegalArgumentException("类别不存在: id=" + id);
         }
         
         category.setId(id);
         categoryMapper.update(category);
+        entityCache.evictCategory(id);
+        dataVersions.changed(DataVersions.Scope.CATEGORIES, List.of());
         return category;
     }
     
     @Transactional(rollbackFor = Exception.class)
     public void deleteCategory(Long id) {
         categoryMapper.deleteById(id);
+        entityCache.evictCategory(id);
+        dataVersions.changed(DataVersions.Scope.CATEGORIES, List.of());
     }
 }
 
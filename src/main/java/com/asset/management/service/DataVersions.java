@@ -0,0 +1,120 @@
+package com.asset.management.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 数据版本号：为列表与日程查询生成 ETag，数据未变时条件请求直接返回 304，不访问数据库
+ *
+ * 按数据范围（分配、维护窗口、资源、项目、类别）维护全局版本号，按资源维护日程版本号。
+ * 写操作登记变更，版本号在事务提交后才递增，回滚的事务不改变版本号；
+ * 查询先取版本号再读数据，并发提交时至多返回较旧的 ETag，下次请求会重新读取，不会把旧数据当作最新。
+ * ETag 带有进程启动标识，重启后不会与之前发出的 ETag 相同。
+ */
+@Component
+public class DataVersions {
+
+    /**
+     * 数据范围
+     */
+    public enum Scope {
+        ALLOCATIONS,
+        MAINTENANCE_WINDOWS,
+        RESOURCES,
+        PROJECTS,
+        CATEGORIES
+    }
+
+    private final String instance = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Scope, AtomicLong> versions = new EnumMap<>(Scope.class);
+    private final Map<Long, AtomicLong> resourceVersions = new ConcurrentHashMap<>();
+
+    /**
+     * 影响范围无法确定到具体资源的变更（如删除项目级联删除其分配），使全部资源的日程版本失效
+     */
+    private final AtomicLong allResources = new AtomicLong();
+
+    public DataVersions() {
+        for (Scope scope : Scope.values()) {
+            versions.put(scope, new AtomicLong());
+        }
+    }
+
+    /**
+     * 登记变更：提交后递增范围版本号与相关资源的日程版本号
+     *
+     * @param resourceIds 受影响的资源（为空的元素忽略）
+     */
+    public void changed(Scope scope, Collection<Long> resourceIds) {
+        List<Long> affected = resourceIds.stream().filter(Objects::nonNull).distinct().toList();
+        afterCommit(() -> {
+            for (Long resourceId : affected) {
+                resourceVersions.computeIfAbsent(resourceId, key -> new AtomicLong()).incrementAndGet();
+            }
+            versions.get(scope).incrementAndGet();
+        });
+    }
+
+    public void changed(Scope scope, Long resourceId) {
+        changed(scope, resourceId == null ? List.of() : List.of(resourceId));
+    }
+
+    /**
+     * 登记影响全部资源日程的变更
+     */
+    public void changedAllResources(Scope scope) {
+        afterCommit(() -> {
+            allResources.incrementAndGet();
+            versions.get(scope).incrementAndGet();
+        });
+    }
+
+    /**
+     * 数据范围当前的版本号
+     */
+    public long version(Scope scope) {
+        return versions.get(scope).get();
+    }
+
+    /**
+     * 由一个或多个数据范围的版本号组成的 ETag
+     */
+    public String etag(Scope... scopes) {
+        StringBuilder tag = new StringBuilder("\"").append(instance);
+        for (Scope scope : scopes) {
+            tag.append('-').append(versions.get(scope).get());
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * 单个资源日程（该资源的分配、维护窗口与资源信息）的 ETag
+     */
+    public String resourceEtag(Long resourceId) {
+        AtomicLong version = resourceVersions.get(resourceId);
+        return "\"" + instance + "-r" + resourceId + "-" + allResources.get()
+                + "-" + (version == null ? 0 : version.get()) + "\"";
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,161 @@
+package com.asset.management.service;
+
+import com.asset.management.config.EntityCacheProperties;
+import com.asset.management.dto.EntityCacheStats;
+import com.asset.management.entity.Category;
+import com.asset.management.entity.Project;
+import com.asset.management.entity.Resource;
+import com.asset.management.mapper.CategoryMapper;
+import com.asset.management.mapper.ProjectMapper;
+import com.asset.management.mapper.ResourceMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 资源、项目、类别的按ID读取缓存
+ *
+ * 这些表一天只变化几次，却在每次分配写入、日程查询时按ID校验存在。缓存按条数与存活时间淘汰：
+ * 1. 未命中时查询数据库，不存在的ID不缓存；
+ * 2. 写操作登记失效，在事务结束后才移除缓存（回滚时同样移除，事务内读到的未提交数据不会留在缓存中）；
+ *    失效与同一ID正在进行的加载互斥，不会把提交前读到的旧值放回缓存；
+ * 3. 返回的实体为共享实例，调用方不得修改。
+ * 加锁读取（lockById）与需要最新日程版本号的读取仍直接查询数据库。
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCache {
+
+    private final ResourceMapper resourceMapper;
+    private final ProjectMapper projectMapper;
+    private final CategoryMapper categoryMapper;
+    private final EntityCacheProperties properties;
+
+    private Region<Resource> resources;
+    private Region<Project> projects;
+    private Region<Category> categories;
+
+    @PostConstruct
+    void init() {
+        resources = new Region<>("resource", resourceMapper::findById);
+        projects = new Region<>("project", projectMapper::findById);
+        categories = new Region<>("category", categoryMapper::findById);
+    }
+
+    public Resource resource(Long id) {
+        return resources.get(id);
+    }
+
+    public Project project(Long id) {
+        return projects.get(id);
+    }
+
+    public Category category(Long id) {
+        return categories.get(id);
+    }
+
+    public void evictResource(Long id) {
+        resources.evict(List.of(id));
+    }
+
+    /**
+     * 多个资源行已变化（如批量写入递增了日程版本号）
+     */
+    public void evictResources(Collection<Long> ids) {
+        resources.evict(List.copyOf(ids));
+    }
+
+    public void evictProject(Long id) {
+        projects.evict(List.of(id));
+    }
+
+    public void evictCategory(Long id) {
+        categories.evict(List.of(id));
+    }
+
+    public EntityCacheStats resourceStats() {
+        return resources.stats();
+    }
+
+    public EntityCacheStats projectStats() {
+        return projects.stats();
+    }
+
+    public EntityCacheStats categoryStats() {
+        return categories.stats();
+    }
+
+    private final class Region<T> {
+
+        private final String name;
+        private final Function<Long, T> loader;
+        private final Cache<Long, T> cache;
+        private final LongAdder invalidations = new LongAdder();
+
+        private Region(String name, Function<Long, T> loader) {
+            this.name = name;
+            this.loader = loader;
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaximumSize())
+                    .expireAfterWrite(properties.getTtl())
+                    .recordStats()
+                    .build();
+        }
+
+        private T get(Long id) {
+            if (id == null) {
+                return null;
+            }
+            if (!properties.isEnabled()) {
+                return loader.apply(id);
+            }
+            // 加载函数返回 null 时不写入缓存
+            return cache.get(id, loader);
+        }
+
+        private void evict(List<Long> ids) {
+            Runnable action = () -> {
+                for (Long id : ids) {
+                    if (id != null && cache.asMap().remove(id) != null) {
+                        invalidations.increment();
+                    }
+                }
+            };
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                action.run();
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+
+        private EntityCacheStats stats() {
+            CacheStats stats = cache.stats();
+            EntityCacheStats result = new EntityCacheStats();
+            result.setName(name);
+            result.setEnabled(properties.isEnabled());
+            result.setSize(cache.estimatedSize());
+            result.setHitCount(stats.hitCount());
+            result.setMissCount(stats.missCount());
+            result.setHitRate(stats.hitRate());
+            result.setEvictionCount(stats.evictionCount());
+            result.setInvalidationCount(invalidations.sum());
+            result.setAverageLoadMillis(stats.averageLoadPenalty() / 1_000_000.0);
+            return result;
+        }
+    }
+}
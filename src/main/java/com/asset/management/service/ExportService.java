@@ -0,0 +1,230 @@
+package com.asset.management.service;
+
+import com.asset.management.dto.ExportFilter;
+import com.asset.management.entity.Allocation;
+import com.asset.management.entity.MaintenanceWindow;
+import com.asset.management.mapper.AllocationMapper;
+import com.asset.management.mapper.MaintenanceWindowMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 分配记录与维护窗口导出服务
+ *
+ * 记录经 MyBatis 游标逐行读取并直接写入响应输出流（NDJSON 每行一个 JSON 对象，或 CSV，时间为 yyyy-MM-dd HH:mm:ss），
+ * 不在内存中组装列表，内存占用与导出行数无关。
+ * 游标在只读事务内遍历，事务在写完最后一行后结束。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final DateTimeFormatter CSV_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * 导出格式（批量导入使用相同格式）
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv;charset=UTF-8", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        public static Format of(String value) {
+            if (value == null || value.isBlank()) {
+                return NDJSON;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("不支持的数据格式: " + value);
+            }
+        }
+    }
+
+    private static final Map<String, Function<Allocation, Object>> ALLOCATION_COLUMNS = new LinkedHashMap<>();
+    private static final Map<String, Function<MaintenanceWindow, Object>> MAINTENANCE_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        ALLOCATION_COLUMNS.put("id", Allocation::getId);
+        ALLOCATION_COLUMNS.put("resourceId", Allocation::getResourceId);
+        ALLOCATION_COLUMNS.put("projectId", Allocation::getProjectId);
+        ALLOCATION_COLUMNS.put("startTime", Allocation::getStartTime);
+        ALLOCATION_COLUMNS.put("endTime", Allocation::getEndTime);
+        ALLOCATION_COLUMNS.put("status", Allocation::getStatus);
+        ALLOCATION_COLUMNS.put("remark", Allocation::getRemark);
+        ALLOCATION_COLUMNS.put("createdTime", Allocation::getCreatedTime);
+        ALLOCATION_COLUMNS.put("updatedTime", Allocation::getUpdatedTime);
+
+        MAINTENANCE_COLUMNS.put("id", MaintenanceWindow::getId);
+        MAINTENANCE_COLUMNS.put("resourceId", MaintenanceWindow::getResourceId);
+        MAINTENANCE_COLUMNS.put("startTime", MaintenanceWindow::getStartTime);
+        MAINTENANCE_COLUMNS.put("endTime", MaintenanceWindow::getEndTime);
+        MAINTENANCE_COLUMNS.put("type", MaintenanceWindow::getType);
+        MAINTENANCE_COLUMNS.put("reason", MaintenanceWindow::getReason);
+        MAINTENANCE_COLUMNS.put("createdTime", MaintenanceWindow::getCreatedTime);
+        MAINTENANCE_COLUMNS.put("updatedTime", MaintenanceWindow::getUpdatedTime);
+    }
+
+    private final AllocationMapper allocationMapper;
+    private final MaintenanceWindowMapper maintenanceWindowMapper;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * 校验分配导出条件（在开始写响应之前调用，错误仍能以 400 返回）
+     */
+    public void validateAllocationFilter(ExportFilter filter) {
+        validateRange(filter);
+        if (filter.getStatus() != null) {
+            filter.setStatus(parseEnum(Allocation.AllocationStatus.class, filter.getStatus(), "分配状态"));
+        }
+    }
+
+    public void validateMaintenanceFilter(ExportFilter filter) {
+        validateRange(filter);
+        if (filter.getProjectId() != null) {
+            throw new IllegalArgumentException("维护窗口不支持按项目过滤");
+        }
+        if (filter.getStatus() != null) {
+            filter.setStatus(parseEnum(MaintenanceWindow.MaintenanceType.class, filter.getStatus(), "维护窗口类型"));
+        }
+    }
+
+    public void exportAllocations(ExportFilter filter, Format format, OutputStream outputStream) throws IOException {
+        export("分配记录", () -> allocationMapper.streamForExport(filter), ALLOCATION_COLUMNS, format, outputStream);
+    }
+
+    public void exportMaintenanceWindows(ExportFilter filter, Format format, OutputStream outputStream) throws IOException {
+        export("维护窗口", () -> maintenanceWindowMapper.streamForExport(filter), MAINTENANCE_COLUMNS, format, outputStream);
+    }
+
+    private <T> void export(String name,
+                            Supplier<Cursor<T>> query,
+                            Map<String, Function<T, Object>> columns,
+                            Format format,
+                            OutputStream outputStream) throws IOException {
+        long started = System.nanoTime();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try {
+            Long rows = readOnly.execute(status -> {
+                try (Cursor<T> cursor = query.get()) {
+                    return format == Format.CSV
+                            ? writeCsv(cursor, columns, outputStream)
+                            : writeNdjson(cursor, outputStream);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.info("导出{}完成: 格式={}, 行数={}, 耗时={}ms",
+                    name, format, rows, (System.nanoTime() - started) / 1_000_000);
+        } catch (UncheckedIOException e) {
+            // 客户端中途断开等写出失败，响应已提交，只能中止
+            log.warn("导出{}中止: {}", name, e.getCause().getMessage());
+            throw e.getCause();
+        }
+    }
+
+    private <T> long writeNdjson(Cursor<T> cursor, OutputStream outputStream) throws IOException {
+        long rows = 0;
+        // 不逐行刷新，由生成器缓冲区写满时批量写出
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            for (T row : cursor) {
+                writer.writeValue(generator, row);
+                generator.writeRaw('\n');
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private <T> long writeCsv(Cursor<T> cursor,
+                              Map<String, Function<T, Object>> columns,
+                              OutputStream outputStream) throws IOException {
+        long rows = 0;
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            writer.write(String.join(",", columns.keySet()));
+            writer.write("\r\n");
+            for (T row : cursor) {
+                boolean first = true;
+                for (Function<T, Object> column : columns.values()) {
+                    if (!first) {
+                        writer.write(',');
+                    }
+                    writeCsvField(writer, column.apply(row));
+                    first = false;
+                }
+                writer.write("\r\n");
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * RFC 4180：包含逗号、引号或换行的字段加引号，引号转义为两个引号
+     */
+    private void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof LocalDateTime time ? CSV_TIME_FORMAT.format(time) : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private void validateRange(ExportFilter filter) {
+        if ((filter.getStartTime() == null) != (filter.getEndTime() == null)) {
+            throw new IllegalArgumentException("开始时间和结束时间需同时指定");
+        }
+        if (filter.getStartTime() != null && !filter.getEndTime().isAfter(filter.getStartTime())) {
+            throw new IllegalArgumentException("结束时间必须大于开始时间");
+        }
+    }
+
+    private <E extends Enum<E>> String parseEnum(Class<E> type, String value, String label) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT)).name();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的" + label + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.asset.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 导入文件的流式读取：每次返回一条记录（列名 -> 文本值），不把整个文件读入内存
+ * CSV 按 RFC 4180 解析，第一行为表头；NDJSON 每行一个 JSON 对象。
+ * 单条记录格式错误时返回带错误信息的记录，不中断读取。
+ */
+abstract class ImportRecordReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 一条记录
+     *
+     * @param line   记录在文件中的起始行号
+     * @param values 列名 -> 值，空字段不放入
+     * @param error  格式错误时的说明，此时 values 为空
+     */
+    record ImportRecord(long line, Map<String, String> values, String error) {
+    }
+
+    protected final BufferedReader reader;
+
+    protected ImportRecordReader(InputStream inputStream) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    static ImportRecordReader open(ExportService.Format format, InputStream inputStream,
+                                   ObjectMapper objectMapper) throws IOException {
+        return format == ExportService.Format.CSV
+                ? new Csv(inputStream)
+                : new Ndjson(inputStream, objectMapper);
+    }
+
+    /**
+     * 下一条记录，读完时返回 null
+     */
+    abstract ImportRecord next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static final class Ndjson extends ImportRecordReader {
+
+        private final ObjectMapper objectMapper;
+        private long line;
+
+        private Ndjson(InputStream inputStream, ObjectMapper objectMapper) {
+            super(inputStream);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        ImportRecord next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (!text.isBlank()) {
+                    return parse(text);
+                }
+            }
+            return null;
+        }
+
+        private ImportRecord parse(String text) {
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (JsonProcessingException e) {
+                return new ImportRecord(line, Map.of(), "JSON 格式错误: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                return new ImportRecord(line, Map.of(), "每行必须是一个 JSON 对象");
+            }
+            Map<String, String> values = new HashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                if (!field.getValue().isNull()) {
+                    values.put(field.getKey(), field.getValue().asText());
+                }
+            }
+            return new ImportRecord(line, values, null);
+        }
+    }
+
+    private static final class Csv extends ImportRecordReader {
+
+        private final List<String> header;
+        private final StringBuilder field = new StringBuilder();
+        private long line = 1;
+        private int pushedBack = -1;
+
+        private Csv(InputStream inputStream) throws IOException {
+            super(inputStream);
+            skipBom();
+            List<String> columns = readFields();
+            if (columns == null || columns.stream().allMatch(String::isBlank)) {
+                throw new IllegalArgumentException("CSV 文件缺少表头");
+            }
+            header = columns.stream().map(String::trim).toList();
+        }
+
+        @Override
+        ImportRecord next() throws IOException {
+            while (true) {
+                long start = line;
+                List<String> fields;
+                try {
+                    fields = readFields();
+                } catch (MalformedCsvException e) {
+                    return new ImportRecord(start, Map.of(), e.getMessage());
+                }
+                if (fields == null) {
+                    return null;
+                }
+                if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                    continue;
+                }
+                if (fields.size() != header.size()) {
+                    return new ImportRecord(start, Map.of(),
+                            "列数与表头不一致: 期望 " + header.size() + "，实际 " + fields.size());
+                }
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < fields.size(); i++) {
+                    if (!fields.get(i).isEmpty()) {
+                        values.put(header.get(i), fields.get(i));
+                    }
+                }
+                return new ImportRecord(start, values, null);
+            }
+        }
+
+        /**
+         * 读取一条记录的全部字段（引号内的逗号与换行属于字段内容），文件结束返回 null
+         */
+        private List<String> readFields() throws IOException {
+            int c = read();
+            if (c < 0) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            field.setLength(0);
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c < 0) {
+                        throw new MalformedCsvException("引号未闭合");
+                    }
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c < 0) {
+                    if (c == '\r') {
+                        int next = read();
+                        if (next != '\n') {
+                            pushedBack = next;
+                        }
+                    }
+                    if (c >= 0) {
+                        line++;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        private int read() throws IOException {
+            if (pushedBack >= 0) {
+                int c = pushedBack;
+                pushedBack = -1;
+                return c;
+            }
+            return reader.read();
+        }
+
+        private void skipBom() throws IOException {
+            int c = reader.read();
+            if (c != '\uFEFF') {
+                pushedBack = c;
+            }
+        }
+    }
+
+    private static final class MalformedCsvException extends IOException {
+
+        private MalformedCsvException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,658 @@
+package com.asset.management.service;
+
+import com.asset.management.config.ImportProperties;
+import com.asset.management.config.SchedulingProperties;
+import com.asset.management.dto.ConflictType;
+import com.asset.management.dto.ImportJob;
+import com.asset.management.dto.ImportRejection;
+import com.asset.management.entity.Allocation;
+import com.asset.management.entity.MaintenanceWindow;
+import com.asset.management.entity.Project;
+import com.asset.management.entity.Resource;
+import com.asset.management.mapper.AllocationMapper;
+import com.asset.management.mapper.AllocationSlotMapper;
+import com.asset.management.mapper.MaintenanceWindowMapper;
+import com.asset.management.mapper.ProjectMapper;
+import com.asset.management.mapper.ResourceMapper;
+import com.asset.management.schedule.ScheduleIndex;
+import com.asset.management.schedule.ScheduleInterval;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * 分配记录与维护窗口批量导入
+ *
+ * 上传内容先落盘为临时文件，由单个后台线程按任务排队处理，接口立即返回任务，进度通过任务查询。
+ * 分配导入分两遍读取文件：
+ * 1. 流式解析并校验每行（时间、状态、资源/项目，资源与项目按ID或名称从任务开始时加载的查找表解析），
+ *    ACTIVE 行按资源收集时间段，逐资源排序后与数据库中已有的占用、文件内更早的行做一次扫描检测冲突；
+ * 2. 跳过被拒绝的行，按块在独立事务中经 BATCH 执行器写入：锁定块内资源行后用一条集合查询复检冲突
+ *    （第一遍之后可能有新的预订），再批量插入。
+ * 各块单独提交，中途失败时已提交的块保留，任务报告已写入行数。试运行只执行第一遍。
+ * 维护窗口不做冲突检测，校验后直接分块写入。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportService {
+
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd['T'][ ]HH:mm[:ss]", Locale.ROOT);
+    private static final Long AMBIGUOUS = -1L;
+
+    /**
+     * 复检查询的派生表由 UNION ALL 逐条拼接，条目过多时数据库解析器递归过深，按此大小分批
+     */
+    private static final int RECHECK_BATCH_SIZE = 200;
+
+    private final ResourceMapper resourceMapper;
+    private final ProjectMapper projectMapper;
+    private final ScheduleIndex scheduleIndex;
+    private final DataVersions dataVersions;
+    private final EntityCache entityCache;
+    private final AllocationSlotService allocationSlotService;
+    private final SchedulingProperties schedulingProperties;
+    private final ImportProperties importProperties;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final SqlSessionFactory sqlSessionFactory;
+
+    /**
+     * 任务按提交顺序保存
+     */
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+
+    private ExecutorService executor;
+    private TransactionTemplate transactionTemplate;
+    private SqlSessionTemplate batchSession;
+
+    /**
+     * 写入事务内只能使用同一种执行器，锁定、复检与插入都经 BATCH 会话的映射器执行
+     */
+    private AllocationMapper batchAllocationMapper;
+    private MaintenanceWindowMapper batchMaintenanceWindowMapper;
+    private ResourceMapper batchResourceMapper;
+    private AllocationSlotMapper batchAllocationSlotMapper;
+
+    @PostConstruct
+    void init() {
+        if (importProperties.getChunkSize() <= 0) {
+            throw new IllegalStateException("导入分块大小必须大于0: " + importProperties.getChunkSize());
+        }
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "import-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        batchSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        batchAllocationMapper = batchSession.getMapper(AllocationMapper.class);
+        batchMaintenanceWindowMapper = batchSession.getMapper(MaintenanceWindowMapper.class);
+        batchResourceMapper = batchSession.getMapper(ResourceMapper.class);
+        batchAllocationSlotMapper = batchSession.getMapper(AllocationSlotMapper.class);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 提交导入任务：上传内容写入临时文件后排队处理
+     */
+    public ImportJob submit(ImportJob.Target target,
+                            ExportService.Format format,
+                            boolean dryRun,
+                            InputStream content) throws IOException {
+        Path file = Files.createTempFile("asset-import-", "." + format.getExtension());
+        long size;
+        try {
+            size = Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+            if (size == 0) {
+                throw new IllegalArgumentException("导入文件不能为空");
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setTarget(target);
+        job.setFormat(format.name());
+        job.setDryRun(dryRun);
+        job.setCreatedTime(LocalDateTime.now());
+        register(job);
+        log.info("导入任务已提交: id={}, 对象={}, 格式={}, 试运行={}, 字节数={}",
+                job.getId(), target, format, dryRun, size);
+        executor.execute(() -> run(job, format, file));
+        return job;
+    }
+
+    public ImportJob getJob(String id) {
+        synchronized (jobs) {
+            ImportJob job = jobs.get(id);
+            if (job == null) {
+                throw new IllegalArgumentException("导入任务不存在: id=" + id);
+            }
+            return job;
+        }
+    }
+
+    /**
+     * 保留的导入任务，最近提交的在前
+     */
+    public List<ImportJob> listJobs() {
+        List<ImportJob> result;
+        synchronized (jobs) {
+            result = new ArrayList<>(jobs.values());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private void register(ImportJob job) {
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            Iterator<ImportJob> iterator = jobs.values().iterator();
+            while (jobs.size() > importProperties.getRetainedJobs() && iterator.hasNext()) {
+                ImportJob candidate = iterator.next();
+                if (candidate.getStatus() == ImportJob.Status.COMPLETED
+                        || candidate.getStatus() == ImportJob.Status.FAILED) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private void run(ImportJob job, ExportService.Format format, Path file) {
+        long started = System.nanoTime();
+        job.setStartedTime(LocalDateTime.now());
+        try {
+            if (job.getTarget() == ImportJob.Target.ALLOCATION) {
+                importAllocations(job, format, file);
+            } else {
+                importMaintenanceWindows(job, format, file);
+            }
+            job.setStatus(ImportJob.Status.COMPLETED);
+            if (job.isDryRun()) {
+                job.setMessage("试运行完成，未写入数据");
+            }
+            log.info("导入完成: id={}, 读取={}, 通过={}, 拒绝={}, 写入={}, 耗时={}ms",
+                    job.getId(), job.getRowsRead(), job.getRowsAccepted(), job.getRowsRejected(),
+                    job.getRowsWritten(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception | Error e) {
+            // Error 也要记录为失败，否则任务停留在处理中状态
+            job.setStatus(ImportJob.Status.FAILED);
+            job.setMessage(e.getMessage());
+            log.error("导入失败: id={}, 已写入={}", job.getId(), job.getRowsWritten(), e);
+        } finally {
+            job.setFinishedTime(LocalDateTime.now());
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("删除导入临时文件失败: {}", file, e);
+            }
+        }
+    }
+
+    private void importAllocations(ImportJob job, ExportService.Format format, Path file) throws IOException {
+        Lookup resources = Lookup.of("资源", resourceMapper.findAll(), Resource::getId, Resource::getName);
+        Lookup projects = Lookup.of("项目", projectMapper.findAll(), Project::getId, Project::getName);
+        Function<Map<String, String>, Allocation> parser = values -> parseAllocation(values, resources, projects);
+
+        // 第一遍：校验，ACTIVE 行按资源收集时间段
+        job.setStatus(ImportJob.Status.VALIDATING);
+        BitSet rejectedLines = new BitSet();
+        boolean slotClaim = allocationSlotService.isEnabled();
+        Map<Long, List<Span>> spans = new HashMap<>();
+        try (ImportRecordReader reader = ImportRecordReader.open(format, Files.newInputStream(file), objectMapper)) {
+            for (ImportRecordReader.ImportRecord record; (record = reader.next()) != null; ) {
+                job.setRowsRead(job.getRowsRead() + 1);
+                Allocation allocation = parseOrReject(job, record, parser, rejectedLines);
+                if (allocation != null && allocation.getStatus() == Allocation.AllocationStatus.ACTIVE) {
+                    LocalDateTime claimStart = slotClaim
+                            ? allocationSlotService.floorToSlot(allocation.getStartTime())
+                            : allocation.getStartTime();
+                    LocalDateTime claimEnd = slotClaim
+                            ? allocationSlotService.ceilToSlot(allocation.getEndTime())
+                            : allocation.getEndTime();
+                    spans.computeIfAbsent(allocation.getResourceId(), key -> new ArrayList<>())
+                            .add(new Span(record.line(),
+                                    ScheduleInterval.toMillis(allocation.getStartTime()),
+                                    ScheduleInterval.toMillis(allocation.getEndTime()),
+                                    ScheduleInterval.toMillis(claimStart),
+                                    ScheduleInterval.toMillis(claimEnd)));
+                }
+            }
+        }
+        spans.forEach((resourceId, resourceSpans) -> sweep(job, resourceId, resourceSpans, rejectedLines));
+        job.setRowsAccepted(job.getRowsRead() - job.getRowsRejected());
+        if (job.isDryRun()) {
+            return;
+        }
+
+        // 第二遍：跳过被拒绝的行，分块写入
+        job.setStatus(ImportJob.Status.WRITING);
+        int chunkSize = importProperties.getChunkSize();
+        List<Allocation> chunk = new ArrayList<>(chunkSize);
+        List<Long> lines = new ArrayList<>(chunkSize);
+        try (ImportRecordReader reader = ImportRecordReader.open(format, Files.newInputStream(file), objectMapper)) {
+            for (ImportRecordReader.ImportRecord record; (record = reader.next()) != null; ) {
+                if (rejectedLines.get(Math.toIntExact(record.line()))) {
+                    continue;
+                }
+                chunk.add(parser.apply(record.values()));
+                lines.add(record.line());
+                if (chunk.size() >= chunkSize) {
+                    writeAllocations(job, chunk, lines);
+                    chunk.clear();
+                    lines.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeAllocations(job, chunk, lines);
+        }
+    }
+
+    /**
+     * 单个资源的 ACTIVE 行按开始时间排序后一次扫描：
+     * 先与数据库中已有的硬占用（合并为互不重叠的有序区间）比较，再与文件内已接受的行比较，
+     * 已接受的行互不重叠，只需记住最后一个的结束时间。
+     * 分配之间按占用区间（SLOT_CLAIM 模式下为向外取整到时间槽的区间，共享时间槽即冲突）比较，
+     * 与维护窗口按实际时间比较，与单条写入的判定一致
+     */
+    private void sweep(ImportJob job, Long resourceId, List<Span> spans, BitSet rejectedLines) {
+        spans.sort(Comparator.comparingLong(Span::start).thenComparingLong(Span::line));
+        long rangeEnd = spans.stream().mapToLong(Span::claimEnd).max().orElseThrow();
+        List<ScheduleInterval> existing = scheduleIndex.loadRange(resourceId,
+                ScheduleInterval.toDateTime(spans.get(0).claimStart()),
+                ScheduleInterval.toDateTime(rangeEnd)).intervals();
+        List<long[]> allocations = mergeHard(existing, ScheduleInterval.Kind.ALLOCATION);
+        List<long[]> windows = mergeHard(existing, ScheduleInterval.Kind.MAINTENANCE);
+
+        int nextAllocation = 0;
+        int nextWindow = 0;
+        long lastEnd = Long.MIN_VALUE;
+        long lastLine = 0;
+        for (Span span : spans) {
+            nextAllocation = skipEnded(allocations, nextAllocation, span.claimStart());
+            nextWindow = skipEnded(windows, nextWindow, span.start());
+            if ((nextAllocation < allocations.size() && allocations.get(nextAllocation)[0] < span.claimEnd())
+                    || (nextWindow < windows.size() && windows.get(nextWindow)[0] < span.end())) {
+                reject(job, span.line(), "与已有生效分配或硬维护窗口重叠");
+                rejectedLines.set(Math.toIntExact(span.line()));
+            } else if (span.claimStart() < lastEnd) {
+                reject(job, span.line(), "与文件第" + lastLine + "行重叠");
+                rejectedLines.set(Math.toIntExact(span.line()));
+            } else {
+                lastEnd = span.claimEnd();
+                lastLine = span.line();
+            }
+        }
+    }
+
+    /**
+     * 跳过在 start 之前（含恰好在 start）结束的区间
+     */
+    private static int skipEnded(List<long[]> busy, int next, long start) {
+        while (next < busy.size() && busy.get(next)[1] <= start) {
+            next++;
+        }
+        return next;
+    }
+
+    /**
+     * 指定来源的硬占用区间（已按开始时间排序）合并为互不重叠的 [start, end)
+     */
+    private List<long[]> mergeHard(List<ScheduleInterval> intervals, ScheduleInterval.Kind kind) {
+        List<long[]> merged = new ArrayList<>();
+        for (ScheduleInterval interval : intervals) {
+            if (interval.getKind() != kind || interval.getLevel() != ConflictType.HARD) {
+                continue;
+            }
+            long[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && interval.getStart() <= last[1]) {
+                last[1] = Math.max(last[1], interval.getEnd());
+            } else {
+                merged.add(new long[]{interval.getStart(), interval.getEnd()});
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 写入一块分配；SLOT_CLAIM 模式下与不锁资源行的单条写入争用同一时间槽时整块回滚，
+     * 重试时按时间槽复检会剔除与新提交分配共享时间槽的行，不会以同样的冲突再次失败
+     */
+    private void writeAllocations(ImportJob job, List<Allocation> chunk, List<Long> lines) {
+        int maxRetries = schedulingProperties.getAllocation().getMaxRetries();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                List<Integer> conflicts = transactionTemplate.execute(status -> insertAllocationChunk(chunk));
+                for (Integer index : conflicts) {
+                    reject(job, lines.get(index), "与已有生效分配或硬维护窗口重叠（写入时复检）");
+                }
+                job.setRowsAccepted(job.getRowsAccepted() - conflicts.size());
+                job.setRowsWritten(job.getRowsWritten() + chunk.size() - conflicts.size());
+                job.setChunksCommitted(job.getChunksCommitted() + 1);
+                return;
+            } catch (DuplicateKeyException e) {
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+                log.warn("导入块时间槽争用，重试: id={}, 第{}次", job.getId(), attempt + 1);
+                chunk.forEach(allocation -> allocation.setId(null));
+            }
+        }
+    }
+
+    /**
+     * 在当前事务内写入一块分配，返回因冲突未写入的条目下标
+     */
+    private List<Integer> insertAllocationChunk(List<Allocation> chunk) {
+        List<Allocation> active = new ArrayList<>();
+        List<Integer> activeIndexes = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (chunk.get(i).getStatus() == Allocation.AllocationStatus.ACTIVE) {
+                active.add(chunk.get(i));
+                activeIndexes.add(i);
+            }
+        }
+        Set<Integer> conflicts = new HashSet<>();
+        TreeSet<Long> activeResourceIds = new TreeSet<>();
+        if (!active.isEmpty()) {
+            // 与单条写入相同，先按ID顺序锁定资源行，复检结果在提交前保持有效
+            active.forEach(allocation -> activeResourceIds.add(allocation.getResourceId()));
+            batchResourceMapper.lockByIds(activeResourceIds);
+            for (int from = 0; from < active.size(); from += RECHECK_BATCH_SIZE) {
+                List<Allocation> batch = active.subList(from, Math.min(from + RECHECK_BATCH_SIZE, active.size()));
+                for (Integer index : batchAllocationMapper.findConflictingIndexes(batch, true)) {
+                    conflicts.add(activeIndexes.get(from + index));
+                }
+                if (allocationSlotService.isEnabled()) {
+                    // 与已提交分配共享时间槽的行：按取整后的区间再与已有分配比较一次，避免插入时间槽时违反主键
+                    for (Integer index : batchAllocationMapper.findConflictingIndexes(claimRanges(batch), false)) {
+                        conflicts.add(activeIndexes.get(from + index));
+                    }
+                }
+            }
+        }
+
+        List<Allocation> written = new ArrayList<>(chunk.size());
+        Set<Long> resourceIds = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (!conflicts.contains(i)) {
+                batchAllocationMapper.insert(chunk.get(i));
+                written.add(chunk.get(i));
+                resourceIds.add(chunk.get(i).getResourceId());
+            }
+        }
+        // 执行批量语句并回填自增ID
+        batchSession.flushStatements();
+
+        if (allocationSlotService.isEnabled()) {
+            for (Allocation allocation : written) {
+                if (allocation.getStatus() == Allocation.AllocationStatus.ACTIVE) {
+                    batchAllocationSlotMapper.insertSlots(allocation.getResourceId(), allocation.getId(),
+                            allocationSlotService.slotsOf(allocation.getStartTime(), allocation.getEndTime()));
+                }
+            }
+        }
+        if (schedulingProperties.getAllocation().getWriteMode() == SchedulingProperties.WriteMode.OPTIMISTIC
+                && !activeResourceIds.isEmpty()) {
+            batchResourceMapper.incrementScheduleVersions(activeResourceIds);
+            entityCache.evictResources(activeResourceIds);
+        }
+        scheduleIndex.onBulkChanged(resourceIds);
+        dataVersions.changed(DataVersions.Scope.ALLOCATIONS, resourceIds);
+        return conflicts.stream().sorted().toList();
+    }
+
+    /**
+     * 起止向外取整到时间槽的副本（只用于冲突复检）
+     */
+    private List<Allocation> claimRanges(List<Allocation> allocations) {
+        List<Allocation> ranges = new ArrayList<>(allocations.size());
+        for (Allocation allocation : allocations) {
+            Allocation range = new Allocation();
+            range.setResourceId(allocation.getResourceId());
+            range.setStartTime(allocationSlotService.floorToSlot(allocation.getStartTime()));
+            range.setEndTime(allocationSlotService.ceilToSlot(allocation.getEndTime()));
+            ranges.add(range);
+        }
+        return ranges;
+    }
+
+    private void importMaintenanceWindows(ImportJob job, ExportService.Format format, Path file) throws IOException {
+        Lookup resources = Lookup.of("资源", resourceMapper.findAll(), Resource::getId, Resource::getName);
+        Function<Map<String, String>, MaintenanceWindow> parser = values -> parseMaintenanceWindow(values, resources);
+
+        job.setStatus(job.isDryRun() ? ImportJob.Status.VALIDATING : ImportJob.Status.WRITING);
+        int chunkSize = importProperties.getChunkSize();
+        List<MaintenanceWindow> chunk = new ArrayList<>(chunkSize);
+        try (ImportRecordReader reader = ImportRecordReader.open(format, Files.newInputStream(file), objectMapper)) {
+            for (ImportRecordReader.ImportRecord record; (record = reader.next()) != null; ) {
+                job.setRowsRead(job.getRowsRead() + 1);
+                MaintenanceWindow window = parseOrReject(job, record, parser, null);
+                if (window == null) {
+                    continue;
+                }
+                job.setRowsAccepted(job.getRowsAccepted() + 1);
+                if (job.isDryRun()) {
+                    continue;
+                }
+                chunk.add(window);
+                if (chunk.size() >= chunkSize) {
+                    writeMaintenanceWindows(job, chunk);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeMaintenanceWindows(job, chunk);
+        }
+    }
+
+    private void writeMaintenanceWindows(ImportJob job, List<MaintenanceWindow> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<Long> resourceIds = new HashSet<>();
+            for (MaintenanceWindow window : chunk) {
+                batchMaintenanceWindowMapper.insert(window);
+                resourceIds.add(window.getResourceId());
+            }
+            scheduleIndex.onBulkChanged(resourceIds);
+            dataVersions.changed(DataVersions.Scope.MAINTENANCE_WINDOWS, resourceIds);
+        });
+        job.setRowsWritten(job.getRowsWritten() + chunk.size());
+        job.setChunksCommitted(job.getChunksCommitted() + 1);
+    }
+
+    /**
+     * 解析一行，格式或校验错误时记为拒绝并返回 null
+     */
+    private <T> T parseOrReject(ImportJob job,
+                                ImportRecordReader.ImportRecord record,
+                                Function<Map<String, String>, T> parser,
+                                BitSet rejectedLines) {
+        String reason = record.error();
+        if (reason == null) {
+            try {
+                return parser.apply(record.values());
+            } catch (IllegalArgumentException e) {
+                reason = e.getMessage();
+            }
+        }
+        reject(job, record.line(), reason);
+        if (rejectedLines != null) {
+            rejectedLines.set(Math.toIntExact(record.line()));
+        }
+        return null;
+    }
+
+    private void reject(ImportJob job, long line, String reason) {
+        job.setRowsRejected(job.getRowsRejected() + 1);
+        if (job.getRejected().size() < importProperties.getMaxRejectedDetails()) {
+            job.getRejected().add(new ImportRejection(line, reason));
+        } else {
+            job.setRejectedTruncated(true);
+        }
+    }
+
+    private Allocation parseAllocation(Map<String, String> values, Lookup resources, Lookup projects) {
+        Allocation allocation = new Allocation();
+        allocation.setResourceId(resources.resolve(values, "resourceId", "resourceName"));
+        allocation.setProjectId(projects.resolve(values, "projectId", "projectName"));
+        allocation.setStartTime(parseTime(values, "startTime", "开始时间"));
+        allocation.setEndTime(parseTime(values, "endTime", "结束时间"));
+        validateTimeRange(allocation.getStartTime(), allocation.getEndTime());
+        allocation.setStatus(parseEnum(Allocation.AllocationStatus.class, values.get("status"),
+                Allocation.AllocationStatus.ACTIVE, "分配状态"));
+        allocation.setRemark(values.get("remark"));
+        return allocation;
+    }
+
+    private MaintenanceWindow parseMaintenanceWindow(Map<String, String> values, Lookup resources) {
+        MaintenanceWindow window = new MaintenanceWindow();
+        window.setResourceId(resources.resolve(values, "resourceId", "resourceName"));
+        window.setStartTime(parseTime(values, "startTime", "开始时间"));
+        window.setEndTime(parseTime(values, "endTime", "结束时间"));
+        validateTimeRange(window.getStartTime(), window.getEndTime());
+        window.setType(parseEnum(MaintenanceWindow.MaintenanceType.class, values.get("type"),
+                MaintenanceWindow.MaintenanceType.HARD, "维护窗口类型"));
+        window.setReason(values.get("reason"));
+        return window;
+    }
+
+    private LocalDateTime parseTime(Map<String, String> values, String column, String label) {
+        String value = trimToNull(values.get(column));
+        if (value == null) {
+            throw new IllegalArgumentException(label + "不能为空");
+        }
+        try {
+            return LocalDateTime.parse(value, TIME_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(label + "格式错误: " + value);
+        }
+    }
+
+    private void validateTimeRange(LocalDateTime startTime, LocalDateTime endTime) {
+        if (!endTime.isAfter(startTime)) {
+            throw new IllegalArgumentException("结束时间必须大于开始时间");
+        }
+    }
+
+    private <E extends Enum<E>> E parseEnum(Class<E> type, String value, E defaultValue, String label) {
+        String text = trimToNull(value);
+        if (text == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, text.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的" + label + ": " + value);
+        }
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * 文件中一条 ACTIVE 分配的时间段
+     */
+    private record Span(long line, long start, long end, long claimStart, long claimEnd) {
+    }
+
+    /**
+     * 资源或项目的查找表：按ID判断存在，按名称解析ID（重名时不能按名称解析）
+     */
+    private static final class Lookup {
+
+        private final String label;
+        private final Set<Long> ids = new HashSet<>();
+        private final Map<String, Long> idsByName = new HashMap<>();
+
+        private Lookup(String label) {
+            this.label = label;
+        }
+
+        static <T> Lookup of(String label, List<T> rows, Function<T, Long> id, Function<T, String> name) {
+            Lookup lookup = new Lookup(label);
+            for (T row : rows) {
+                lookup.ids.add(id.apply(row));
+                lookup.idsByName.merge(name.apply(row), id.apply(row), (a, b) -> AMBIGUOUS);
+            }
+            return lookup;
+        }
+
+        Long resolve(Map<String, String> values, String idColumn, String nameColumn) {
+            String idText = trimToNull(values.get(idColumn));
+            if (idText != null) {
+                Long id;
+                try {
+                    id = Long.valueOf(idText);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(label + "ID格式错误: " + idText);
+                }
+                if (!ids.contains(id)) {
+                    throw new IllegalArgumentException(label + "不存在: id=" + id);
+                }
+                return id;
+            }
+            String name = trimToNull(values.get(nameColumn));
+            if (name == null) {
+                throw new IllegalArgumentException(label + "ID或" + label + "名称不能为空");
+            }
+            Long id = idsByName.get(name);
+            if (id == null) {
+                throw new IllegalArgumentException(label + "不存在: name=" + name);
+            }
+            if (AMBIGUOUS.equals(id)) {
+                throw new IllegalArgumentException(label + "名称不唯一: " + name);
+            }
+            return id;
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package com.asset.management.service;
 
 import com.asset.management.dto.MaintenanceWindowRequest;
+import com.asset.management.dto.PageCursor;
+import com.asset.management.dto.PageResult;
 import com.asset.management.entity.MaintenanceWindow;
 import com.asset.management.mapper.MaintenanceWindowMapper;
-import com.asset.management.mapper.ResourceMapper;
+import com.asset.management.schedule.ScheduleIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -19,7 +22,10 @@ import java.util.List;
 public class MaintenanceWindowService {
 
     private final MaintenanceWindowMapper maintenanceWindowMapper;
-    private final ResourceMapper resourceMapper;
+    private final ScheduleIndex scheduleIndex;
+    private final DataVersions dataVersions;
+    private final EntityCache entityCache;
+    private final PageSupport pageSupport;
 
     public MaintenanceWindow findById(Long id) {
         return maintenanceWindowMapper.findById(id);
@@ -33,6 +39,17 @@ public class MaintenanceWindowService {
         return maintenanceWindowMapper.findAll();
     }
 
+    /**
+     * 键集分页查询维护窗口，resourceId 可选
+     */
+    public PageResult<MaintenanceWindow> findPage(Long resourceId, Integer limit, String cursor) {
+        int pageSize = pageSupport.resolveLimit(limit);
+        List<MaintenanceWindow> rows = maintenanceWindowMapper.findPage(
+                pageSupport.decodeByStartTime(cursor), resourceId, pageSize + 1);
+        return pageSupport.toPage(rows, pageSize,
+                window -> new PageCursor(window.getStartTime(), window.getId()));
+    }
+
     public List<MaintenanceWindow> findByResourceAndRange(Long resourceId,
                                                           LocalDateTime startTime,
                                                           LocalDateTime endTime) {
@@ -60,6 +77,8 @@ public class MaintenanceWindowService {
         window.setReason(request.getReason());
 
         maintenanceWindowMapper.insert(window);
+        scheduleIndex.onMaintenanceSaved(window, null);
+        dataVersions.changed(DataVersions.Scope.MAINTENANCE_WINDOWS, window.getResourceId());
         return window;
     }
 
@@ -72,6 +91,7 @@ public class MaintenanceWindowService {
         }
         assertResourceExists(request.getResourceId());
 
+        Long previousResourceId = existing.getResourceId();
         existing.setResourceId(request.getResourceId());
         existing.setStartTime(request.getStartTime());
         existing.setEndTime(request.getEndTime());
@@ -81,12 +101,20 @@ public class MaintenanceWindowService {
         existing.setReason(request.getReason());
 
         maintenanceWindowMapper.update(existing);
+        scheduleIndex.onMaintenanceSaved(existing, previousResourceId);
+        dataVersions.changed(DataVersions.Scope.MAINTENANCE_WINDOWS,
+                Arrays.asList(previousResourceId, existing.getResourceId()));
         return existing;
     }
 
     @Transactional(rollbackFor = Exception.class)
     public void delete(Long id) {
+        MaintenanceWindow existing = maintenanceWindowMapper.findById(id);
         maintenanceWindowMapper.deleteById(id);
+        if (existing != null) {
+            scheduleIndex.onMaintenanceRemoved(existing.getResourceId(), id);
+            dataVersions.changed(DataVersions.Scope.MAINTENANCE_WINDOWS, existing.getResourceId());
+        }
     }
 
     private void validateRequest(MaintenanceWindowRequest request) {
@@ -106,7 +134,7 @@ public class MaintenanceWindowService {
         if (resourceId == null) {
             throw new IllegalArgumentException("资源ID不能为空");
         }
-        if (resourceMapper.findById(resourceId) == null) {
+        if (entityCache.resource(resourceId) == null) {
             throw new IllegalArgumentException("资源不存在: id=" + resourceId);
         }
     }
@@ -0,0 +1,66 @@
+package com.asset.management.service;
+
+import com.asset.management.config.PagingProperties;
+import com.asset.management.dto.PageCursor;
+import com.asset.management.dto.PageResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 键集分页的参数解析与结果组装
+ *
+ * 查询多取一条（limit + 1）判断是否还有下一页，游标取本页最后一条记录的排序键，
+ * 翻页不使用 OFFSET，任意深度的页都只扫描 limit + 1 条索引记录。
+ */
+@Component
+@RequiredArgsConstructor
+public class PageSupport {
+
+    private final PagingProperties pagingProperties;
+
+    /**
+     * 请求是否走分页：带了 limit 或 cursor，或已关闭不分页的旧行为
+     */
+    public boolean isPaged(Integer limit, String cursor) {
+        return limit != null || cursor != null || !pagingProperties.isUnpagedEnabled();
+    }
+
+    public int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return pagingProperties.getDefaultLimit();
+        }
+        if (limit <= 0 || limit > pagingProperties.getMaxLimit()) {
+            throw new IllegalArgumentException("每页条数必须在 1 ~ " + pagingProperties.getMaxLimit() + " 之间");
+        }
+        return limit;
+    }
+
+    public PageCursor decode(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor);
+    }
+
+    /**
+     * 按（开始时间, ID）排序的列表的游标，缺少开始时间（如按ID排序列表的游标）时拒绝
+     */
+    public PageCursor decodeByStartTime(String cursor) {
+        PageCursor decoded = decode(cursor);
+        if (decoded != null && decoded.getStartTime() == null) {
+            throw new IllegalArgumentException("分页游标无效");
+        }
+        return decoded;
+    }
+
+    /**
+     * @param rows 按 limit + 1 查询到的记录
+     */
+    public <T> PageResult<T> toPage(List<T> rows, int limit, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new PageResult<>(rows, null, false);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new PageResult<>(items, cursorOf.apply(items.get(limit - 1)).encode(), true);
+    }
+}
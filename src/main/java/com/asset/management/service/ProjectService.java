@@ -1,7 +1,10 @@
 package com.asset.management.service;
 
+import com.asset.management.dto.EntityCacheStats;
 import com.asset.management.entity.Project;
+import com.asset.management.mapper.AllocationMapper;
 import com.asset.management.mapper.ProjectMapper;
+import com.asset.management.schedule.ScheduleIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,13 +21,21 @@ import java.util.List;
 public class ProjectService {
     
     private final ProjectMapper projectMapper;
+    private final AllocationMapper allocationMapper;
+    private final ScheduleIndex scheduleIndex;
+    private final DataVersions dataVersions;
+    private final EntityCache entityCache;
     
     public List<Project> findAll() {
         return projectMapper.findAll();
     }
     
     public Project findById(Long id) {
-        return projectMapper.findById(id);
+        return entityCache.project(id);
+    }
+    
+    public EntityCacheStats cacheStats() {
+        return entityCache.projectStats();
     }
     
     @Transactional(rollbackFor = Exception.class)
@@ -33,24 +44,35 @@ public class ProjectService {
             project.setStatus(Project.ProjectStatus.ACTIVE);
         }
         projectMapper.insert(project);
+        dataVersions.changed(DataVersions.Scope.PROJECTS, List.of());
         return project;
     }
     
     @Transactional(rollbackFor = Exception.class)
     public Project updateProject(Long id, Project project) {
-        Project existing = projectMapper.findById(id);
+        Project existing = entityCache.project(id);
         if (existing == null) {
             throw new IllegalArgumentException("项目不存在: id=" + id);
         }
         
         project.setId(id);
         projectMapper.update(project);
+        entityCache.evictProject(id);
+        dataVersions.changed(DataVersions.Scope.PROJECTS, List.of());
         return project;
     }
     
+    /**
+     * 删除项目，其分配由外键级联删除；删除前取出涉及的资源，提交后丢弃这些资源的内存时间轴
+     */
     @Transactional(rollbackFor = Exception.class)
     public void deleteProject(Long id) {
+        List<Long> resourceIds = allocationMapper.findResourceIdsByProjectId(id);
         projectMapper.deleteById(id);
+        entityCache.evictProject(id);
+        scheduleIndex.onBulkChanged(resourceIds);
+        dataVersions.changed(DataVersions.Scope.ALLOCATIONS, resourceIds);
+        dataVersions.changed(DataVersions.Scope.PROJECTS, List.of());
     }
 }
 
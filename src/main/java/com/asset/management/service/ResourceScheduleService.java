@@ -1,18 +1,37 @@
 package com.asset.management.service;
 
+import com.asset.management.config.SchedulingProperties;
+import com.asset.management.dto.ConflictType;
+import com.asset.management.dto.FreeSlot;
+import com.asset.management.dto.FreeSlotResponse;
+import com.asset.management.dto.OccupancyStats;
+import com.asset.management.dto.OccupancySummary;
+import com.asset.management.dto.ResourceSchedule;
 import com.asset.management.dto.ResourceScheduleItem;
 import com.asset.management.entity.Allocation;
 import com.asset.management.entity.MaintenanceWindow;
+import com.asset.management.entity.Resource;
 import com.asset.management.mapper.AllocationMapper;
 import com.asset.management.mapper.MaintenanceWindowMapper;
 import com.asset.management.mapper.ResourceMapper;
+import com.asset.management.schedule.OccupancyBitmaps;
+import com.asset.management.schedule.ResourceTimeline;
+import com.asset.management.schedule.ScheduleIndex;
+import com.asset.management.schedule.ScheduleInterval;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 资源时间段视图服务
@@ -21,9 +40,18 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ResourceScheduleService {
 
+    /**
+     * 多资源时间段视图单次查询的资源数上限
+     */
+    private static final int MAX_SCHEDULE_RESOURCES = 1000;
+
     private final AllocationMapper allocationMapper;
     private final MaintenanceWindowMapper maintenanceWindowMapper;
     private final ResourceMapper resourceMapper;
+    private final ScheduleIndex scheduleIndex;
+    private final SchedulingProperties schedulingProperties;
+    private final OccupancyBitmaps occupancyBitmaps;
+    private final EntityCache entityCache;
 
     public List<ResourceScheduleItem> getSchedule(Long resourceId,
                                                   LocalDateTime startTime,
@@ -32,46 +60,283 @@ public class ResourceScheduleService {
             throw new IllegalArgumentException("资源ID不能为空");
         }
         validateTimeRange(startTime, endTime);
-        if (resourceMapper.findById(resourceId) == null) {
+        if (entityCache.resource(resourceId) == null) {
             throw new IllegalArgumentException("资源不存在: id=" + resourceId);
         }
 
         List<ResourceScheduleItem> items = new ArrayList<>();
-
-        List<Allocation> allocations =
-                allocationMapper.findByResourceIdAndRange(resourceId, startTime, endTime);
-        for (Allocation allocation : allocations) {
-            items.add(new ResourceScheduleItem(
-                    "ALLOCATION",
-                    "HARD",
-                    allocation.getStartTime(),
-                    allocation.getEndTime(),
-                    "项目ID: " + allocation.getProjectId(),
-                    allocation.getId()
-            ));
-        }
-
-        List<MaintenanceWindow> windows =
-                maintenanceWindowMapper.findByResourceAndRange(resourceId, startTime, endTime);
-        for (MaintenanceWindow window : windows) {
-            String level = window.getType() == null ? "HARD" : window.getType().name();
-            String label = window.getReason() == null || window.getReason().isBlank()
-                    ? "维护窗口"
-                    : window.getReason();
-            items.add(new ResourceScheduleItem(
-                    "MAINTENANCE",
-                    level,
-                    window.getStartTime(),
-                    window.getEndTime(),
-                    label,
-                    window.getId()
-            ));
+        for (Allocation allocation : allocationMapper.findByResourceIdAndRange(resourceId, startTime, endTime)) {
+            items.add(toItem(allocation));
+        }
+        for (MaintenanceWindow window : maintenanceWindowMapper.findByResourceAndRange(resourceId, startTime, endTime)) {
+            items.add(toItem(window));
         }
-
         items.sort(Comparator.comparing(ResourceScheduleItem::getStartTime));
         return items;
     }
 
+    /**
+     * 多资源时间段视图（排期看板）
+     *
+     * 资源按ID列表或类别确定，分配与维护窗口各一次集合查询；两个结果都按 (资源ID, 开始时间) 排序，
+     * 同时推进两个游标归并，每个条目追加到所属资源的时间轴末尾，各资源时间轴天然有序，无需再排序。
+     *
+     * @param resourceIds 资源ID（去重后保持顺序），与 categoryId 二选一
+     * @param categoryId 类别ID，返回类别下全部资源
+     */
+    public List<ResourceSchedule> getSchedules(List<Long> resourceIds,
+                                               Long categoryId,
+                                               LocalDateTime startTime,
+                                               LocalDateTime endTime) {
+        validateTimeRange(startTime, endTime);
+        List<Resource> resources = scheduleResources(resourceIds, categoryId);
+        if (resources.isEmpty()) {
+            return List.of();
+        }
+
+        List<ResourceSchedule> schedules = new ArrayList<>(resources.size());
+        Map<Long, List<ResourceScheduleItem>> itemsByResource = new HashMap<>(resources.size() * 2);
+        for (Resource resource : resources) {
+            ResourceSchedule schedule = new ResourceSchedule(resource.getId(), resource.getName(), new ArrayList<>());
+            schedules.add(schedule);
+            itemsByResource.put(resource.getId(), schedule.getItems());
+        }
+
+        Set<Long> ids = itemsByResource.keySet();
+        List<Allocation> allocations = allocationMapper.findByResourceIdsAndRange(ids, startTime, endTime);
+        List<MaintenanceWindow> windows = maintenanceWindowMapper.findByResourcesAndRange(ids, startTime, endTime);
+        int a = 0;
+        int w = 0;
+        while (a < allocations.size() || w < windows.size()) {
+            // 同一资源同一开始时间时分配在前，与单资源视图的排序一致
+            if (w == windows.size() || (a < allocations.size() && compare(allocations.get(a), windows.get(w)) <= 0)) {
+                Allocation allocation = allocations.get(a++);
+                itemsByResource.get(allocation.getResourceId()).add(toItem(allocation));
+            } else {
+                MaintenanceWindow window = windows.get(w++);
+                itemsByResource.get(window.getResourceId()).add(toItem(window));
+            }
+        }
+        return schedules;
+    }
+
+    /**
+     * 查询空闲时间段
+     *
+     * 每个资源取出搜索范围内的占用区间（按开始时间有序），一次扫描得到空闲区间：
+     * 游标从范围起点出发，遇到开始时间晚于游标的占用即产生一个空闲区间，随后游标推进到占用结束时间。
+     * 只有ACTIVE分配与硬维护窗口阻塞预订；软维护窗口只标记在结果上，
+     * avoidSoft 为 true 时最早时间段优先避开软维护窗口，避不开时退回到与其重叠的最早时间段。
+     *
+     * @param resourceIds 资源ID（去重后保持顺序）
+     * @param durationMinutes 所需时长（分钟）
+     * @param startTime 搜索范围开始
+     * @param endTime 搜索范围结束
+     * @param avoidSoft 最早时间段是否优先避开软维护窗口
+     */
+    public FreeSlotResponse findFreeSlots(List<Long> resourceIds,
+                                          int durationMinutes,
+                                          LocalDateTime startTime,
+                                          LocalDateTime endTime,
+                                          boolean avoidSoft) {
+        if (resourceIds == null || resourceIds.isEmpty()) {
+            throw new IllegalArgumentException("资源ID不能为空");
+        }
+        validateTimeRange(startTime, endTime);
+        if (durationMinutes <= 0) {
+            throw new IllegalArgumentException("所需时长必须大于0");
+        }
+        long from = ScheduleInterval.toMillis(startTime);
+        long to = ScheduleInterval.toMillis(endTime);
+        long duration = durationMinutes * 60_000L;
+        if (duration > to - from) {
+            throw new IllegalArgumentException("所需时长超过搜索范围");
+        }
+        Set<Long> ids = requireResources(resourceIds);
+
+        List<FreeSlot> earliestSlots = new ArrayList<>();
+        List<FreeSlot> gaps = new ArrayList<>();
+        for (Long resourceId : ids) {
+            List<ScheduleInterval> intervals = occupancy(resourceId, startTime, endTime);
+            ResourceTimeline softWindows = new ResourceTimeline(intervals.stream()
+                    .filter(interval -> interval.getLevel() != ConflictType.HARD)
+                    .collect(Collectors.toList()));
+
+            List<long[]> hardGaps = sweep(intervals, false, from, to, duration);
+            for (long[] gap : hardGaps) {
+                gaps.add(toSlot(resourceId, gap[0], gap[1], softWindows));
+            }
+
+            List<long[]> strictGaps = avoidSoft && softWindows.size() > 0
+                    ? sweep(intervals, true, from, to, duration)
+                    : List.of();
+            long[] earliest = !strictGaps.isEmpty() ? strictGaps.get(0)
+                    : !hardGaps.isEmpty() ? hardGaps.get(0)
+                    : null;
+            if (earliest != null) {
+                earliestSlots.add(toSlot(resourceId, earliest[0], earliest[0] + duration, softWindows));
+            }
+        }
+        earliestSlots.sort(Comparator.comparing(FreeSlot::getStartTime));
+        return new FreeSlotResponse(earliestSlots, gaps);
+    }
+
+    /**
+     * 资源在时间范围内按时间槽统计的占用概况（由占用位图应答）
+     */
+    public OccupancySummary summarizeOccupancy(Long resourceId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (resourceId == null) {
+            throw new IllegalArgumentException("资源ID不能为空");
+        }
+        requireResources(List.of(resourceId));
+        return occupancyBitmaps.summarize(resourceId, startTime, endTime);
+    }
+
+    /**
+     * 多个资源共同空闲的时间段（由占用位图应答，粒度为时间槽）
+     */
+    public List<FreeSlot> findCommonFree(List<Long> resourceIds,
+                                         LocalDateTime startTime,
+                                         LocalDateTime endTime,
+                                         int minMinutes) {
+        if (resourceIds == null || resourceIds.isEmpty()) {
+            throw new IllegalArgumentException("资源ID不能为空");
+        }
+        if (minMinutes <= 0) {
+            throw new IllegalArgumentException("最短时长必须大于0");
+        }
+        Set<Long> ids = requireResources(resourceIds);
+        return occupancyBitmaps.findCommonFree(new ArrayList<>(ids), startTime, endTime, minMinutes);
+    }
+
+    public OccupancyStats occupancyStats() {
+        return occupancyBitmaps.stats();
+    }
+
+    private List<Resource> scheduleResources(List<Long> resourceIds, Long categoryId) {
+        boolean byIds = resourceIds != null && !resourceIds.isEmpty();
+        if (byIds == (categoryId != null)) {
+            throw new IllegalArgumentException("资源ID与类别ID需指定其中一个");
+        }
+        if (byIds) {
+            // 先校验数量再查询，超限请求不访问数据库
+            Set<Long> ids = new LinkedHashSet<>(resourceIds);
+            checkScheduleSize(ids.size());
+            return new ArrayList<>(loadResources(ids).values());
+        }
+        List<Resource> resources = resourceMapper.findByCategoryId(categoryId);
+        checkScheduleSize(resources.size());
+        return resources;
+    }
+
+    private static void checkScheduleSize(int size) {
+        if (size > MAX_SCHEDULE_RESOURCES) {
+            throw new IllegalArgumentException("单次查询的资源数不能超过 " + MAX_SCHEDULE_RESOURCES);
+        }
+    }
+
+    private static int compare(Allocation allocation, MaintenanceWindow window) {
+        int byResource = allocation.getResourceId().compareTo(window.getResourceId());
+        return byResource != 0 ? byResource : allocation.getStartTime().compareTo(window.getStartTime());
+    }
+
+    private static ResourceScheduleItem toItem(Allocation allocation) {
+        return new ResourceScheduleItem(
+                "ALLOCATION",
+                "HARD",
+                allocation.getStartTime(),
+                allocation.getEndTime(),
+                "项目ID: " + allocation.getProjectId(),
+                allocation.getId()
+        );
+    }
+
+    private static ResourceScheduleItem toItem(MaintenanceWindow window) {
+        String level = window.getType() == null ? "HARD" : window.getType().name();
+        String label = window.getReason() == null || window.getReason().isBlank()
+                ? "维护窗口"
+                : window.getReason();
+        return new ResourceScheduleItem(
+                "MAINTENANCE",
+                level,
+                window.getStartTime(),
+                window.getEndTime(),
+                label,
+                window.getId()
+        );
+    }
+
+    private Set<Long> requireResources(List<Long> resourceIds) {
+        return loadResources(new LinkedHashSet<>(resourceIds)).keySet();
+    }
+
+    /**
+     * 一次集合查询读取资源并校验全部存在，按 ids 的顺序返回
+     */
+    private Map<Long, Resource> loadResources(Set<Long> ids) {
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("资源ID不能为空");
+        }
+        Map<Long, Resource> found = resourceMapper.findByIds(ids).stream()
+                .collect(Collectors.toMap(Resource::getId, Function.identity()));
+        Map<Long, Resource> resources = new LinkedHashMap<>(ids.size() * 2);
+        for (Long id : ids) {
+            Resource resource = found.get(id);
+            if (resource == null) {
+                throw new IllegalArgumentException("资源不存在: id=" + id);
+            }
+            resources.put(id, resource);
+        }
+        return resources;
+    }
+
+    /**
+     * 资源在时间范围内的占用区间，按开始时间升序
+     * 启用内存索引时直接由索引应答，否则两次范围查询
+     */
+    private List<ScheduleInterval> occupancy(Long resourceId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (schedulingProperties.getIndex().isEnabled()) {
+            return scheduleIndex.findOverlaps(resourceId, startTime, endTime, null);
+        }
+        return scheduleIndex.loadRange(resourceId, startTime, endTime).intervals();
+    }
+
+    /**
+     * 单次扫描求不短于 minLength 的空闲区间
+     *
+     * @param intervals 按开始时间升序的占用区间
+     * @param includeSoft 软维护窗口是否也视为阻塞
+     */
+    private List<long[]> sweep(List<ScheduleInterval> intervals, boolean includeSoft, long from, long to, long minLength) {
+        List<long[]> gaps = new ArrayList<>();
+        long cursor = from;
+        for (ScheduleInterval interval : intervals) {
+            if (cursor >= to) {
+                return gaps;
+            }
+            if (!includeSoft && interval.getLevel() != ConflictType.HARD) {
+                continue;
+            }
+            if (interval.getStart() - cursor >= minLength) {
+                gaps.add(new long[]{cursor, interval.getStart()});
+            }
+            cursor = Math.max(cursor, interval.getEnd());
+        }
+        if (to - cursor >= minLength) {
+            gaps.add(new long[]{cursor, to});
+        }
+        return gaps;
+    }
+
+    private FreeSlot toSlot(Long resourceId, long start, long end, ResourceTimeline softWindows) {
+        return new FreeSlot(
+                resourceId,
+                ScheduleInterval.toDateTime(start),
+                ScheduleInterval.toDateTime(end),
+                softWindows.size() > 0 && !softWindows.findOverlaps(start, end, null).isEmpty()
+        );
+    }
+
     private void validateTimeRange(LocalDateTime startTime, LocalDateTime endTime) {
         if (startTime == null || endTime == null) {
             throw new IllegalArgumentException("开始时间和结束时间不能为空");
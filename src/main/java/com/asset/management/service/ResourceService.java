@@ -1,11 +1,16 @@
 package com.asset.management.service;
 
+import com.asset.management.dto.EntityCacheStats;
+import com.asset.management.dto.PageCursor;
+import com.asset.management.dto.PageResult;
 import com.asset.management.entity.Resource;
 import com.asset.management.mapper.ResourceMapper;
+import com.asset.management.schedule.ScheduleIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -18,43 +23,87 @@ import java.util.List;
 public class ResourceService {
     
     private final ResourceMapper resourceMapper;
+    private final ScheduleIndex scheduleIndex;
+    private final DataVersions dataVersions;
+    private final EntityCache entityCache;
+    private final PageSupport pageSupport;
     
     public List<Resource> findAll() {
         return resourceMapper.findAll();
     }
     
+    /**
+     * 键集分页查询资源（按ID倒序）
+     */
+    public PageResult<Resource> findPage(Integer limit, String cursor) {
+        int pageSize = pageSupport.resolveLimit(limit);
+        PageCursor after = pageSupport.decode(cursor);
+        List<Resource> rows = resourceMapper.findPage(after == null ? null : after.getId(), pageSize + 1);
+        return pageSupport.toPage(rows, pageSize, resource -> new PageCursor(null, resource.getId()));
+    }
+    
     public Resource findById(Long id) {
-        return resourceMapper.findById(id);
+        return entityCache.resource(id);
     }
     
     public List<Resource> findByCategoryId(Long categoryId) {
         return resourceMapper.findByCategoryId(categoryId);
     }
     
+    /**
+     * 类别下在时间段内可用的资源（一条集合查询，不逐个资源检测冲突）
+     */
+    public List<Resource> findAvailable(Long categoryId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (categoryId == null) {
+            throw new IllegalArgumentException("类别ID不能为空");
+        }
+        if (startTime == null || endTime == null) {
+            throw new IllegalArgumentException("开始时间和结束时间不能为空");
+        }
+        if (!endTime.isAfter(startTime)) {
+            throw new IllegalArgumentException("结束时间必须大于开始时间");
+        }
+        return resourceMapper.findAvailableByCategory(categoryId, startTime, endTime);
+    }
+    
+    public EntityCacheStats cacheStats() {
+        return entityCache.resourceStats();
+    }
+    
     @Transactional(rollbackFor = Exception.class)
     public Resource createResource(Resource resource) {
         if (resource.getStatus() == null) {
             resource.setStatus(Resource.ResourceStatus.AVAILABLE);
         }
         resourceMapper.insert(resource);
+        dataVersions.changed(DataVersions.Scope.RESOURCES, resource.getId());
         return resource;
     }
     
     @Transactional(rollbackFor = Exception.class)
     public Resource updateResource(Long id, Resource resource) {
-        Resource existing = resourceMapper.findById(id);
+        Resource existing = entityCache.resource(id);
         if (existing == null) {
             throw new IllegalArgumentException("资源不存在: id=" + id);
         }
         
         resource.setId(id);
         resourceMapper.update(resource);
+        scheduleIndex.onResourceUpdated(id);
+        entityCache.evictResource(id);
+        dataVersions.changed(DataVersions.Scope.RESOURCES, id);
         return resource;
     }
     
     @Transactional(rollbackFor = Exception.class)
     public void deleteResource(Long id) {
         resourceMapper.deleteById(id);
+        scheduleIndex.evictResource(id);
+        entityCache.evictResource(id);
+        // 级联删除了该资源的分配与维护窗口
+        dataVersions.changed(DataVersions.Scope.RESOURCES, id);
+        dataVersions.changed(DataVersions.Scope.ALLOCATIONS, id);
+        dataVersions.changed(DataVersions.Scope.MAINTENANCE_WINDOWS, id);
     }
 }
 
@@ -0,0 +1,376 @@
+package com.asset.management.service;
+
+import com.asset.management.config.SchedulingProperties;
+import com.asset.management.dto.UtilizationReport;
+import com.asset.management.dto.UtilizationReport.Granularity;
+import com.asset.management.dto.UtilizationRow;
+import com.asset.management.entity.Allocation;
+import com.asset.management.entity.Category;
+import com.asset.management.entity.MaintenanceWindow;
+import com.asset.management.entity.Project;
+import com.asset.management.entity.Resource;
+import com.asset.management.mapper.AllocationMapper;
+import com.asset.management.mapper.CategoryMapper;
+import com.asset.management.mapper.MaintenanceWindowMapper;
+import com.asset.management.mapper.ProjectMapper;
+import com.asset.management.mapper.ResourceMapper;
+import com.asset.management.schedule.ScheduleIndex;
+import com.asset.management.schedule.ScheduleInterval;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 资源利用率统计服务
+ *
+ * 分配记录通过 MyBatis 游标按开始时间逐行读取，按统计维度的分组键分发到本次统计专用的聚合线程（虚拟线程），
+ * 同一分组始终由同一线程处理（按资源统计即按资源并行），各线程独立累加，最后合并，
+ * 内存占用与分组数和并发分配数相关，与分配记录总数无关。
+ * 报表按（时间范围, 统计维度）缓存，日程、资源、项目或类别信息提交变更后失效。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UtilizationService {
+
+    private static final int QUEUE_CAPACITY = 1024;
+
+    /**
+     * 聚合队列持续已满（聚合线程停止消费）的最长等待时间，超时后本次统计失败
+     */
+    private static final long DISPATCH_TIMEOUT_MILLIS = 30_000;
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+    private static final Allocation END_OF_STREAM = new Allocation();
+
+    private final AllocationMapper allocationMapper;
+    private final MaintenanceWindowMapper maintenanceWindowMapper;
+    private final ResourceMapper resourceMapper;
+    private final CategoryMapper categoryMapper;
+    private final ProjectMapper projectMapper;
+    private final ScheduleIndex scheduleIndex;
+    private final SchedulingProperties schedulingProperties;
+    private final PlatformTransactionManager transactionManager;
+    private final DataVersions dataVersions;
+
+    private ExecutorService executor;
+    private TransactionTemplate readOnlyTransaction;
+    private Map<ReportKey, CachedReport> cache;
+    private int parallelism;
+
+    @PostConstruct
+    void init() {
+        SchedulingProperties.Analytics config = schedulingProperties.getAnalytics();
+        parallelism = config.getParallelism() > 0
+                ? config.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        // 每个聚合任务一个虚拟线程：并发的多个报表各自的聚合线程都会立即启动，不会排在其他报表之后
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("utilization-", 0).factory());
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        int cacheSize = config.getCacheSize();
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ReportKey, CachedReport> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public UtilizationReport report(LocalDateTime startTime, LocalDateTime endTime, Granularity granularity) {
+        if (startTime == null || endTime == null) {
+            throw new IllegalArgumentException("开始时间和结束时间不能为空");
+        }
+        if (!endTime.isAfter(startTime)) {
+            throw new IllegalArgumentException("结束时间必须大于开始时间");
+        }
+        if (granularity == null) {
+            throw new IllegalArgumentException("统计维度不能为空");
+        }
+        ReportKey key = new ReportKey(startTime, endTime, granularity);
+        // 先读取版本：计算期间提交的变更会使本次结果在下次查询时失效
+        ReportVersion version = currentVersion();
+        CachedReport cached = cache.get(key);
+        if (cached != null && cached.version().equals(version)) {
+            return cached.report();
+        }
+        UtilizationReport report = readOnlyTransaction.execute(status -> compute(startTime, endTime, granularity));
+        cache.put(key, new CachedReport(version, report));
+        return report;
+    }
+
+    /**
+     * 报表依赖的数据版本：日程索引的变更计数（分配、维护窗口、资源），以及报表行引用的项目与类别名称
+     */
+    private ReportVersion currentVersion() {
+        return new ReportVersion(scheduleIndex.changeCount(),
+                dataVersions.version(DataVersions.Scope.PROJECTS),
+                dataVersions.version(DataVersions.Scope.CATEGORIES));
+    }
+
+    private UtilizationReport compute(LocalDateTime startTime, LocalDateTime endTime, Granularity granularity) {
+        long from = ScheduleInterval.toMillis(startTime);
+        long to = ScheduleInterval.toMillis(endTime);
+        List<Resource> resources = resourceMapper.findAll();
+        Map<Long, Long> categoryOf = new HashMap<>(resources.size() * 2);
+        for (Resource resource : resources) {
+            categoryOf.put(resource.getId(), resource.getCategoryId());
+        }
+        Function<Allocation, Long> groupKey = switch (granularity) {
+            case RESOURCE -> Allocation::getResourceId;
+            case CATEGORY -> allocation -> categoryOf.get(allocation.getResourceId());
+            case PROJECT -> Allocation::getProjectId;
+        };
+
+        Map<Long, Usage> usages = aggregate(startTime, endTime, from, to, groupKey);
+        Map<Long, double[]> maintenance = maintenanceMillis(startTime, endTime, from, to);
+
+        Map<Long, UtilizationRow> rows = new LinkedHashMap<>();
+        double rangeHours = (to - from) / MILLIS_PER_HOUR;
+        double fleetAvailableHours = 0;
+        for (Resource resource : resources) {
+            double[] millis = maintenance.getOrDefault(resource.getId(), new double[2]);
+            double availableHours = Math.max(0, rangeHours - millis[1] / MILLIS_PER_HOUR);
+            fleetAvailableHours += availableHours;
+            if (granularity == Granularity.PROJECT) {
+                continue;
+            }
+            Long key = granularity == Granularity.RESOURCE ? resource.getId() : resource.getCategoryId();
+            UtilizationRow row = rows.computeIfAbsent(key, id -> newRow(id));
+            row.setResourceCount(row.getResourceCount() + 1);
+            row.setMaintenanceHours(row.getMaintenanceHours() + millis[0] / MILLIS_PER_HOUR);
+            row.setAvailableHours(row.getAvailableHours() + availableHours);
+            if (granularity == Granularity.RESOURCE) {
+                row.setName(resource.getName());
+            }
+        }
+
+        long totalAllocations = 0;
+        for (Map.Entry<Long, Usage> entry : usages.entrySet()) {
+            Usage usage = entry.getValue();
+            totalAllocations += usage.allocationCount;
+            UtilizationRow row = rows.computeIfAbsent(entry.getKey(), id -> newRow(id));
+            row.setAllocationCount(usage.allocationCount);
+            row.setBookedHours(usage.bookedMillis / MILLIS_PER_HOUR);
+            row.setPeakConcurrency(usage.peakConcurrency);
+            if (granularity == Granularity.PROJECT) {
+                row.setResourceCount(usage.resourceIds.size());
+                row.setAvailableHours(fleetAvailableHours);
+            }
+        }
+
+        fillNames(rows, granularity);
+        List<UtilizationRow> result = new ArrayList<>(rows.values());
+        for (UtilizationRow row : result) {
+            row.setUtilization(row.getAvailableHours() > 0
+                    ? round(row.getBookedHours() / row.getAvailableHours() * 100)
+                    : 0);
+            row.setBookedHours(round(row.getBookedHours()));
+            row.setMaintenanceHours(round(row.getMaintenanceHours()));
+            row.setAvailableHours(round(row.getAvailableHours()));
+        }
+        result.sort(Comparator.comparingDouble(UtilizationRow::getUtilization).reversed()
+                .thenComparing(UtilizationRow::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        UtilizationReport report = new UtilizationReport();
+        report.setStartTime(startTime);
+        report.setEndTime(endTime);
+        report.setGranularity(granularity);
+        report.setTotalAllocations(totalAllocations);
+        report.setGeneratedTime(LocalDateTime.now());
+        report.setRows(result);
+        return report;
+    }
+
+    /**
+     * 游标逐行读取分配记录，按分组键分发到聚合线程；同一队列内保持开始时间顺序
+     */
+    private Map<Long, Usage> aggregate(LocalDateTime startTime,
+                                       LocalDateTime endTime,
+                                       long from,
+                                       long to,
+                                       Function<Allocation, Long> groupKey) {
+        List<BlockingQueue<Allocation>> queues = new ArrayList<>(parallelism);
+        List<Future<Map<Long, Usage>>> shards = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            BlockingQueue<Allocation> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+            queues.add(queue);
+            shards.add(executor.submit(() -> consume(queue, from, to, groupKey)));
+        }
+
+        boolean completed = false;
+        try (Cursor<Allocation> cursor = allocationMapper.streamByRange(startTime, endTime)) {
+            for (Allocation allocation : cursor) {
+                int shard = Math.floorMod(Objects.hashCode(groupKey.apply(allocation)), parallelism);
+                dispatch(queues.get(shard), shards.get(shard), allocation);
+            }
+            for (int i = 0; i < parallelism; i++) {
+                dispatch(queues.get(i), shards.get(i), END_OF_STREAM);
+            }
+
+            Map<Long, Usage> merged = new HashMap<>();
+            for (Future<Map<Long, Usage>> shard : shards) {
+                merged.putAll(shard.get());
+            }
+            completed = true;
+            return merged;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("利用率统计被中断", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("利用率统计失败", e.getCause());
+        } finally {
+            if (!completed) {
+                shards.forEach(shard -> shard.cancel(true));
+            }
+        }
+    }
+
+    /**
+     * 放入聚合队列；队列满时等待，聚合线程已异常结束则直接抛出其异常，长时间无法放入则统计失败
+     */
+    private void dispatch(BlockingQueue<Allocation> queue,
+                          Future<Map<Long, Usage>> shard,
+                          Allocation allocation) throws InterruptedException, ExecutionException {
+        long deadline = System.currentTimeMillis() + DISPATCH_TIMEOUT_MILLIS;
+        while (!queue.offer(allocation, 100, TimeUnit.MILLISECONDS)) {
+            if (shard.isDone()) {
+                shard.get();
+                throw new IllegalStateException("利用率统计的聚合线程已提前结束");
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IllegalStateException("利用率统计超时：聚合线程 " + DISPATCH_TIMEOUT_MILLIS + "ms 未消费数据");
+            }
+        }
+    }
+
+    private Map<Long, Usage> consume(BlockingQueue<Allocation> queue,
+                                     long from,
+                                     long to,
+                                     Function<Allocation, Long> groupKey) throws InterruptedException {
+        Map<Long, Usage> usages = new HashMap<>();
+        while (true) {
+            Allocation allocation = queue.take();
+            if (allocation == END_OF_STREAM) {
+                return usages;
+            }
+            long start = Math.max(ScheduleInterval.toMillis(allocation.getStartTime()), from);
+            long end = Math.min(ScheduleInterval.toMillis(allocation.getEndTime()), to);
+            usages.computeIfAbsent(groupKey.apply(allocation), key -> new Usage())
+                    .add(start, end, allocation.getResourceId());
+        }
+    }
+
+    /**
+     * 各资源在范围内的维护毫秒数：[0] 全部维护窗口，[1] 硬维护窗口
+     */
+    private Map<Long, double[]> maintenanceMillis(LocalDateTime startTime, LocalDateTime endTime, long from, long to) {
+        Map<Long, double[]> millis = new HashMap<>();
+        for (MaintenanceWindow window : maintenanceWindowMapper.findAllByRange(startTime, endTime)) {
+            long start = Math.max(ScheduleInterval.toMillis(window.getStartTime()), from);
+            long end = Math.min(ScheduleInterval.toMillis(window.getEndTime()), to);
+            if (start >= end) {
+                continue;
+            }
+            double[] total = millis.computeIfAbsent(window.getResourceId(), id -> new double[2]);
+            total[0] += end - start;
+            if (window.getType() != MaintenanceWindow.MaintenanceType.SOFT) {
+                total[1] += end - start;
+            }
+        }
+        return millis;
+    }
+
+    private void fillNames(Map<Long, UtilizationRow> rows, Granularity granularity) {
+        if (granularity == Granularity.CATEGORY) {
+            Map<Long, String> names = new HashMap<>();
+            for (Category category : categoryMapper.findAll()) {
+                names.put(category.getId(), category.getName());
+            }
+            rows.values().forEach(row -> row.setName(row.getId() == null ? "未分类" : names.get(row.getId())));
+        } else if (granularity == Granularity.PROJECT && !rows.isEmpty()) {
+            Map<Long, String> names = new HashMap<>();
+            for (Project project : projectMapper.findByIds(rows.keySet())) {
+                names.put(project.getId(), project.getName());
+            }
+            rows.values().forEach(row -> row.setName(names.get(row.getId())));
+        }
+    }
+
+    private static UtilizationRow newRow(Long id) {
+        UtilizationRow row = new UtilizationRow();
+        row.setId(id);
+        return row;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * 单个分组的累加器，只由一个聚合线程访问；分配按开始时间顺序到达，
+     * 用结束时间小顶堆维护当前仍生效的分配，堆大小即并发数
+     */
+    private static final class Usage {
+
+        private long bookedMillis;
+        private long allocationCount;
+        private int peakConcurrency;
+        private final PriorityQueue<Long> activeEnds = new PriorityQueue<>();
+        private final Set<Long> resourceIds = new HashSet<>();
+
+        private void add(long start, long end, Long resourceId) {
+            allocationCount++;
+            bookedMillis += end - start;
+            resourceIds.add(resourceId);
+            while (!activeEnds.isEmpty() && activeEnds.peek() <= start) {
+                activeEnds.poll();
+            }
+            activeEnds.add(end);
+            peakConcurrency = Math.max(peakConcurrency, activeEnds.size());
+        }
+    }
+
+    private record ReportKey(LocalDateTime startTime, LocalDateTime endTime, Granularity granularity) {
+    }
+
+    private record ReportVersion(long changeCount, long projects, long categories) {
+    }
+
+    private record CachedReport(ReportVersion version, UtilizationReport report) {
+    }
+}
@@ -38,10 +38,12 @@ CREATE TABLE t_resource (
     category_id BIGINT NOT NULL COMMENT '类别ID',
     status VARCHAR(20) DEFAULT 'AVAILABLE' COMMENT '状态：AVAILABLE-可用, MAINTENANCE-维护中, RETIRED-已退役',
     description VARCHAR(500) COMMENT '资源描述',
+    version BIGINT NOT NULL DEFAULT 0 COMMENT '版本号（资源信息或日程变化时递增）',
+    schedule_version BIGINT NOT NULL DEFAULT 0 COMMENT '日程版本号（分配写入时比较并递增，乐观并发控制）',
     created_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     updated_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     FOREIGN KEY (category_id) REFERENCES t_category(id) ON DELETE RESTRICT,
-    INDEX idx_category (category_id),
+    INDEX idx_category_status (category_id, status),
     INDEX idx_status (status)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='资源表';
 
@@ -73,8 +75,11 @@ CREATE TABLE t_allocation (
     FOREIGN KEY (resource_id) REFERENCES t_resource(id) ON DELETE CASCADE,
     FOREIGN KEY (project_id) REFERENCES t_project(id) ON DELETE CASCADE,
     INDEX idx_resource_time (resource_id, start_time, end_time),
-    INDEX idx_project (project_id),
+    INDEX idx_resource_start_id (resource_id, start_time, id),
+    INDEX idx_resource_status_start (resource_id, status, start_time, end_time),
+    INDEX idx_project_start_id (project_id, start_time, id),
     INDEX idx_status (status),
+    INDEX idx_start_id (start_time, id),
     CONSTRAINT chk_time CHECK (end_time > start_time)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='资源分配表';
 
@@ -91,10 +96,24 @@ CREATE TABLE t_maintenance_window (
     updated_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     FOREIGN KEY (resource_id) REFERENCES t_resource(id) ON DELETE CASCADE,
     INDEX idx_resource_time (resource_id, start_time, end_time),
+    INDEX idx_resource_start_id (resource_id, start_time, id),
+    INDEX idx_start_id (start_time, id),
     INDEX idx_type (type),
     CONSTRAINT chk_maintenance_time CHECK (end_time > start_time)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='资源维护窗口表';
 
+-- 6. 分配时间槽占用表（SLOT_CLAIM 写入模式使用）
+-- 分配按固定粒度拆分为时间槽，(resource_id, slot_start) 主键保证同一时间槽只能被一个分配占用
+DROP TABLE IF EXISTS t_allocation_slot;
+CREATE TABLE t_allocation_slot (
+    resource_id BIGINT NOT NULL COMMENT '资源ID',
+    slot_start DATETIME NOT NULL COMMENT '时间槽开始时间',
+    allocation_id BIGINT NOT NULL COMMENT '占用该时间槽的分配ID',
+    PRIMARY KEY (resource_id, slot_start),
+    FOREIGN KEY (allocation_id) REFERENCES t_allocation(id) ON DELETE CASCADE,
+    INDEX idx_allocation (allocation_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='分配时间槽占用表';
+
 -- 恢复外键检查
 SET FOREIGN_KEY_CHECKS = 1;
 
@@ -3,6 +3,7 @@ const { ElMessage, ElMessageBox } = ElementPlus;
 
 // API基础地址
 const API_BASE = 'http://localhost:8080/api';
+const PAGE_SIZE = 50;
 
 const app = createApp({
     data() {
@@ -26,6 +27,7 @@ const app = createApp({
             
             // 数据列表
             allocations: [],
+            allocationCursor: null,
             resources: [],
             projects: [],
             categories: [],
@@ -39,6 +41,7 @@ const app = createApp({
                 endTime: ''
             },
             maintenanceWindows: [],
+            maintenanceCursor: null,
             maintenanceFilter: {
                 resourceId: '',
                 startDate: '',
@@ -324,16 +327,29 @@ const app = createApp({
         },
         
         // ========== 资源分配相关 ==========
-        async loadAllocations() {
+        // 分页加载：首次加载第一页，loadMoreAllocations 按游标追加下一页
+        async loadAllocations(cursor = null) {
             try {
-                const response = await axios.get(`${API_BASE}/allocations`);
+                const params = { limit: PAGE_SIZE };
+                if (cursor) {
+                    params.cursor = cursor;
+                }
+                const response = await axios.get(`${API_BASE}/allocations`, { params });
                 if (response.data.code === 200) {
-                    this.allocations = response.data.data;
+                    const page = response.data.data;
+                    this.allocations = cursor ? this.allocations.concat(page.items) : page.items;
+                    this.allocationCursor = page.nextCursor;
                 }
             } catch (error) {
                 ElMessage.error('加载分配列表失败：' + (error.response?.data?.message || error.message));
             }
         },
+
+        async loadMoreAllocations() {
+            if (this.allocationCursor) {
+                await this.loadAllocations(this.allocationCursor);
+            }
+        },
         
         showAllocationDialog(mode, row = null) {
             this.conflictWarning = false;
@@ -785,7 +801,7 @@ const app = createApp({
         },
 
         // ========== 维护窗口相关 ==========
-        async loadMaintenanceWindows() {
+        async loadMaintenanceWindows(cursor = null) {
             const resourceId = this.normalizeId(this.maintenanceFilter.resourceId);
             const startTime = this.combineDateTime(
                 this.maintenanceFilter.startDate,
@@ -808,16 +824,37 @@ const app = createApp({
                 params.endTime = endTime;
             }
 
+            // 指定时间范围时返回范围内全部窗口，否则分页加载
+            if (!params.startTime) {
+                params.limit = PAGE_SIZE;
+                if (cursor) {
+                    params.cursor = cursor;
+                }
+            }
+
             try {
                 const response = await axios.get(`${API_BASE}/maintenance-windows`, { params });
                 if (response.data.code === 200) {
-                    this.maintenanceWindows = response.data.data;
+                    const data = response.data.data;
+                    if (Array.isArray(data)) {
+                        this.maintenanceWindows = data;
+                        this.maintenanceCursor = null;
+                    } else {
+                        this.maintenanceWindows = cursor ? this.maintenanceWindows.concat(data.items) : data.items;
+                        this.maintenanceCursor = data.nextCursor;
+                    }
                 }
             } catch (error) {
                 ElMessage.error('加载维护窗口失败：' + (error.response?.data?.message || error.message));
             }
         },
 
+        async loadMoreMaintenanceWindows() {
+            if (this.maintenanceCursor) {
+                await this.loadMaintenanceWindows(this.maintenanceCursor);
+            }
+        },
+
         showMaintenanceDialog(mode, row = null) {
             this.maintenanceDialog.mode = mode;
             this.maintenanceDialog.title = mode === 'create' ? '新建维护窗口' : '编辑维护窗口';
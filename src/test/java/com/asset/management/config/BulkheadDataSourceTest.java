@@ -0,0 +1,53 @@
+package com.asset.management.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 数据库隔板测试（H2 内存库，不启动应用）
+ */
+class BulkheadDataSourceTest {
+    
+    private final DataSource target = new DriverManagerDataSource("jdbc:h2:mem:bulkhead;DB_CLOSE_DELAY=-1", "sa", "");
+    
+    /**
+     * 许可用完时等待超时失败，连接关闭后释放许可（重复关闭只释放一次）
+     */
+    @Test
+    void testGetConnection_ReleasesPermitOnClose() throws SQLException {
+        BulkheadDataSource bulkhead = new BulkheadDataSource(target, 1, Duration.ofMillis(50));
+        
+        Connection connection = bulkhead.getConnection();
+        assertEquals(0, bulkhead.getAvailablePermits());
+        assertThrows(SQLTransientConnectionException.class, bulkhead::getConnection);
+        assertEquals(1, bulkhead.getRejected());
+        
+        connection.close();
+        connection.close();
+        assertEquals(1, bulkhead.getAvailablePermits());
+        try (Connection again = bulkhead.getConnection()) {
+            assertTrue(again.isValid(1));
+        }
+        assertEquals(1, bulkhead.getAvailablePermits());
+        
+        System.out.println("✅ 数据库隔板 - 通过");
+    }
+    
+    /**
+     * 许可数必须大于 0
+     */
+    @Test
+    void testConstruct_RejectsNonPositivePermits() {
+        assertThrows(IllegalArgumentException.class, () -> new BulkheadDataSource(target, 0, Duration.ofMillis(50)));
+        
+        System.out.println("✅ 数据库隔板许可数 - 通过");
+    }
+}
@@ -0,0 +1,195 @@
+package com.asset.management.schedule;
+
+import com.asset.management.config.SchedulingProperties;
+import com.asset.management.dto.ConflictType;
+import com.asset.management.dto.FreeSlot;
+import com.asset.management.dto.OccupancyStats;
+import com.asset.management.dto.OccupancySummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 资源占用位图测试（内存索引为模拟对象，时间轴直接构造，不启动应用）
+ */
+class OccupancyBitmapsTest {
+
+    private final Map<Long, ResourceTimeline> timelines = new HashMap<>();
+    private OccupancyBitmaps bitmaps;
+    private LocalDateTime day;
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+
+    @BeforeEach
+    void setUp() {
+        ScheduleIndex scheduleIndex = mock(ScheduleIndex.class);
+        when(scheduleIndex.timelineOf(any())).thenAnswer(invocation -> timelines.get(invocation.<Long>getArgument(0)));
+        when(scheduleIndex.isLoaded(any())).thenReturn(true);
+        SchedulingProperties properties = new SchedulingProperties();
+        properties.getBitmap().setSlotMinutes(15);
+        properties.getBitmap().setPastDays(1);
+        properties.getBitmap().setFutureDays(30);
+        bitmaps = new OccupancyBitmaps(scheduleIndex, properties);
+        bitmaps.init();
+        LocalDate today = LocalDate.now();
+        day = today.plusDays(10).atStartOfDay();
+        windowStart = today.minusDays(1).atStartOfDay();
+        windowEnd = today.plusDays(30).atStartOfDay();
+    }
+
+    /**
+     * 重叠区间删除其一后只清除不再被占用的槽，另一区间的占用保留
+     */
+    @Test
+    void testRefresh_RemovingOneOfOverlappingIntervals() {
+        ScheduleInterval first = allocation(1L, 1L, at(9, 0), at(11, 0));
+        ScheduleInterval second = allocation(2L, 1L, at(10, 0), at(12, 0));
+        ResourceTimeline timeline = timeline(1L, first, second);
+        assertEquals(12, bitmaps.summarize(1L, at(9, 0), at(12, 0)).getHardSlots());
+
+        timeline.remove(ScheduleInterval.Kind.ALLOCATION, first.getId());
+        bitmaps.onScheduleChanged(1L, timeline, first.getStart(), first.getEnd());
+        assertEquals(8, bitmaps.summarize(1L, at(9, 0), at(12, 0)).getHardSlots());
+        assertEquals(ConflictType.NONE, bitmaps.summarize(1L, at(9, 0), at(10, 0)).getConflictType());
+        assertEquals(ConflictType.HARD, bitmaps.summarize(1L, at(10, 0), at(10, 15)).getConflictType());
+
+        System.out.println("✅ 占用位图重叠区间删除 - 通过");
+    }
+
+    /**
+     * 时间轴被淘汰后丢弃位图，再次查询时按当前时间轴重建
+     */
+    @Test
+    void testResourceEvicted_RebuildsFromTimeline() {
+        ResourceTimeline timeline = timeline(1L, allocation(1L, 1L, at(9, 0), at(10, 0)));
+        assertEquals(4, bitmaps.summarize(1L, at(8, 0), at(12, 0)).getHardSlots());
+        assertEquals(1, bitmaps.stats().getResources());
+
+        // 未经变更回调的修改不会反映到已构建的位图上
+        timeline.upsert(allocation(2L, 1L, at(11, 0), at(12, 0)));
+        assertEquals(4, bitmaps.summarize(1L, at(8, 0), at(12, 0)).getHardSlots());
+
+        bitmaps.onResourceEvicted(1L);
+        assertEquals(0, bitmaps.stats().getResources());
+        assertEquals(8, bitmaps.summarize(1L, at(8, 0), at(12, 0)).getHardSlots());
+        assertEquals(1, bitmaps.stats().getResources());
+
+        System.out.println("✅ 占用位图随时间轴淘汰重建 - 通过");
+    }
+
+    /**
+     * 跨越窗口边界的区间裁剪到窗口内，未对齐的起止向外取整，超出窗口的查询被拒绝
+     */
+    @Test
+    void testWindowEdges_ClipIntervals() {
+        timeline(1L,
+                allocation(1L, 1L, windowStart.minusHours(2), windowStart.plusHours(1)),
+                allocation(2L, 1L, windowEnd.minusHours(1), windowEnd.plusHours(2)),
+                allocation(3L, 1L, at(9, 5), at(9, 20)));
+        assertEquals(4, bitmaps.summarize(1L, windowStart, windowStart.plusHours(2)).getHardSlots());
+        assertEquals(4, bitmaps.summarize(1L, windowEnd.minusHours(2), windowEnd).getHardSlots());
+        assertEquals(2, bitmaps.summarize(1L, at(9, 0), at(10, 0)).getHardSlots());
+        assertEquals(10, bitmaps.stats().getHardSlots());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bitmaps.summarize(1L, windowStart.minusHours(1), windowStart.plusHours(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> bitmaps.summarize(1L, windowEnd.minusHours(1), windowEnd.plusMinutes(15)));
+
+        System.out.println("✅ 占用位图窗口边界裁剪 - 通过");
+    }
+
+    /**
+     * 多资源共同空闲：硬占用求并后取补集，软维护只做标记，不足最短时长的空闲段不返回
+     */
+    @Test
+    void testFindCommonFree_AcrossResources() {
+        timeline(1L, allocation(1L, 1L, at(9, 0), at(11, 0)));
+        timeline(2L,
+                allocation(2L, 2L, at(10, 0), at(12, 0)),
+                maintenance(3L, 2L, ConflictType.SOFT, at(13, 0), at(14, 0)));
+
+        List<FreeSlot> free = bitmaps.findCommonFree(List.of(1L, 2L), at(8, 0), at(16, 0), 60);
+        assertEquals(2, free.size());
+        assertEquals(at(8, 0), free.get(0).getStartTime());
+        assertEquals(at(9, 0), free.get(0).getEndTime());
+        assertFalse(free.get(0).isSoftConflict());
+        assertEquals(at(12, 0), free.get(1).getStartTime());
+        assertEquals(at(16, 0), free.get(1).getEndTime());
+        assertTrue(free.get(1).isSoftConflict());
+
+        List<FreeSlot> longer = bitmaps.findCommonFree(List.of(1L, 2L), at(8, 0), at(16, 0), 90);
+        assertEquals(1, longer.size());
+        assertEquals(at(12, 0), longer.get(0).getStartTime());
+
+        List<FreeSlot> single = bitmaps.findCommonFree(List.of(1L), at(8, 0), at(16, 0), 60);
+        assertEquals(2, single.size());
+        assertEquals(at(11, 0), single.get(1).getStartTime());
+
+        System.out.println("✅ 占用位图多资源共同空闲 - 通过");
+    }
+
+    /**
+     * 占用概况的槽数、占用率与冲突类型，以及内存统计
+     */
+    @Test
+    void testSummarizeAndStats() {
+        timeline(1L,
+                allocation(1L, 1L, at(9, 0), at(10, 0)),
+                maintenance(2L, 1L, ConflictType.SOFT, at(10, 0), at(11, 0)));
+        timeline(2L, maintenance(3L, 2L, ConflictType.HARD, at(0, 0), at(12, 0)));
+
+        OccupancySummary summary = bitmaps.summarize(1L, at(8, 0), at(12, 0));
+        assertEquals(15, summary.getSlotMinutes());
+        assertEquals(16, summary.getTotalSlots());
+        assertEquals(4, summary.getHardSlots());
+        assertEquals(4, summary.getSoftSlots());
+        assertEquals(0.25, summary.getUtilization());
+        assertEquals(ConflictType.HARD, summary.getConflictType());
+        assertEquals(ConflictType.SOFT, bitmaps.summarize(1L, at(10, 0), at(11, 0)).getConflictType());
+        assertEquals(1.0, bitmaps.summarize(2L, at(6, 0), at(7, 0)).getUtilization());
+
+        OccupancyStats stats = bitmaps.stats();
+        assertTrue(stats.isEnabled());
+        assertEquals(windowStart, stats.getWindowStart());
+        assertEquals(windowEnd, stats.getWindowEnd());
+        assertEquals(2, stats.getResources());
+        assertEquals(4 + 48, stats.getHardSlots());
+        assertEquals(4, stats.getSoftSlots());
+        assertTrue(stats.getSizeInBytes() > 0);
+        // 连续占用按游程压缩，两个资源四张位图远小于按槽逐位存储的窗口大小
+        assertTrue(stats.getSizeInBytes() < 1024, "位图字节数: " + stats.getSizeInBytes());
+
+        System.out.println("✅ 占用位图概况与内存统计 - 通过");
+    }
+
+    private LocalDateTime at(int hour, int minute) {
+        return day.withHour(hour).withMinute(minute);
+    }
+
+    private ResourceTimeline timeline(Long resourceId, ScheduleInterval... intervals) {
+        ResourceTimeline timeline = new ResourceTimeline(List.of(intervals));
+        timelines.put(resourceId, timeline);
+        return timeline;
+    }
+
+    private static ScheduleInterval allocation(Long id, Long resourceId, LocalDateTime start, LocalDateTime end) {
+        return new ScheduleInterval(ScheduleInterval.Kind.ALLOCATION, id, resourceId, 1L,
+                ConflictType.HARD, start, end);
+    }
+
+    private static ScheduleInterval maintenance(Long id, Long resourceId, ConflictType level,
+                                                LocalDateTime start, LocalDateTime end) {
+        return new ScheduleInterval(ScheduleInterval.Kind.MAINTENANCE, id, resourceId, null, level, start, end);
+    }
+}
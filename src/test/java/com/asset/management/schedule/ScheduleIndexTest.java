@@ -0,0 +1,85 @@
+package com.asset.management.schedule;
+
+import com.asset.management.config.SchedulingProperties;
+import com.asset.management.entity.Allocation;
+import com.asset.management.mapper.AllocationMapper;
+import com.asset.management.mapper.MaintenanceWindowMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 资源占用内存索引测试（映射器为模拟对象，不启动应用）
+ */
+class ScheduleIndexTest {
+    
+    private static final int INTERVALS_PER_RESOURCE = 9;
+    
+    /**
+     * 区间总数超过上限时淘汰整个资源的时间轴并通知监听方，被淘汰的资源再次查询时重新加载
+     */
+    @Test
+    void testTimelines_EvictedBeyondMaxIntervals() throws InterruptedException {
+        AllocationMapper allocationMapper = mock(AllocationMapper.class);
+        MaintenanceWindowMapper maintenanceWindowMapper = mock(MaintenanceWindowMapper.class);
+        when(allocationMapper.findActiveByResourceId(anyLong()))
+                .thenAnswer(invocation -> allocations(invocation.getArgument(0)));
+        SchedulingProperties properties = new SchedulingProperties();
+        // 每个资源权重为区间数 + 1，最多容纳 5 个资源
+        properties.getIndex().setMaxIntervals(5L * (INTERVALS_PER_RESOURCE + 1));
+        ScheduleIndex index = new ScheduleIndex(allocationMapper, maintenanceWindowMapper, properties);
+        index.init();
+        Set<Long> evicted = ConcurrentHashMap.newKeySet();
+        index.addListener(new ScheduleIndex.ChangeListener() {
+            @Override
+            public void onScheduleChanged(Long resourceId, ResourceTimeline timeline, long start, long end) {
+            }
+            
+            @Override
+            public void onResourceEvicted(Long resourceId) {
+                evicted.add(resourceId);
+            }
+        });
+        
+        for (long resourceId = 1; resourceId <= 50; resourceId++) {
+            assertEquals(INTERVALS_PER_RESOURCE, index.timelineOf(resourceId).size());
+        }
+        // 淘汰在缓存维护任务中异步完成
+        for (int i = 0; i < 100 && index.loadedResourceCount() > 5; i++) {
+            Thread.sleep(20);
+        }
+        assertTrue(index.loadedResourceCount() <= 5, "已加载资源数: " + index.loadedResourceCount());
+        assertTrue(evicted.size() >= 45, "淘汰通知数: " + evicted.size());
+        
+        Long first = evicted.iterator().next();
+        assertFalse(index.isLoaded(first));
+        assertEquals(INTERVALS_PER_RESOURCE, index.timelineOf(first).size());
+        
+        System.out.println("✅ 内存索引容量上限 - 通过");
+    }
+    
+    private static List<Allocation> allocations(Long resourceId) {
+        List<Allocation> allocations = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2027, 1, 1, 0, 0);
+        for (int i = 0; i < INTERVALS_PER_RESOURCE; i++) {
+            Allocation allocation = new Allocation();
+            allocation.setId(resourceId * 100 + i);
+            allocation.setResourceId(resourceId);
+            allocation.setProjectId(1L);
+            allocation.setStartTime(start.plusHours(i * 2L));
+            allocation.setEndTime(start.plusHours(i * 2L + 1));
+            allocation.setStatus(Allocation.AllocationStatus.ACTIVE);
+            allocations.add(allocation);
+        }
+        return allocations;
+    }
+}
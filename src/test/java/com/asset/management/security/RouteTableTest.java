@@ -0,0 +1,54 @@
+package com.asset.management.security;
+
+import com.asset.management.config.AuthProperties;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 接口权限表测试（规则取自 application.yml 的 auth.routes，不启动应用）
+ */
+class RouteTableTest {
+    
+    private static RouteTable routes;
+    
+    @BeforeAll
+    static void loadDefaultRoutes() throws IOException {
+        List<AuthProperties.Route> rules = new Binder(ConfigurationPropertySources.from(
+                new YamlPropertySourceLoader().load("application", new ClassPathResource("application.yml"))))
+                .bind("auth.routes", Bindable.listOf(AuthProperties.Route.class))
+                .orElseThrow(() -> new IllegalStateException("application.yml 未配置 auth.routes"));
+        routes = new RouteTable(rules);
+    }
+    
+    /**
+     * 接口权限表：最具体的路径模式生效，未配置的方法回退到较宽的模式
+     */
+    @Test
+    void testRouteTable_DefaultRules() {
+        assertTrue(routes.lookup("/auth/login", "POST").isPublic());
+        assertTrue(routes.lookup("/auth/me", "GET").allows("USER"));
+        assertTrue(routes.lookup("/allocations", "GET").allows("USER"));
+        assertTrue(routes.lookup("/allocations", "POST").allows("USER"));
+        assertTrue(routes.lookup("/allocations/check-conflict/batch", "POST").allows("USER"));
+        assertTrue(routes.lookup("/resources/5/schedule", "GET").allows("USER"));
+        assertFalse(routes.lookup("/allocations/12", "PUT").allows("USER"));
+        assertTrue(routes.lookup("/allocations/12", "PUT").allows("ADMIN"));
+        assertFalse(routes.lookup("/users", "GET").allows("USER"));
+        assertFalse(routes.lookup("/users/3", "GET").allows("USER"));
+        assertTrue(routes.lookup("/users", "POST").allows("ADMIN"));
+        assertFalse(routes.lookup("/resources/5", "DELETE").isPublic());
+        assertNull(routes.lookup("/allocations", "CONNECT"));
+        
+        System.out.println("✅ 接口权限表 - 通过");
+    }
+}
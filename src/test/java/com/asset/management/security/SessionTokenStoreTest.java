@@ -0,0 +1,30 @@
+package com.asset.management.security;
+
+import com.asset.management.config.AuthProperties;
+import com.asset.management.dto.AuthUser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 服务端会话测试
+ */
+class SessionTokenStoreTest {
+    
+    /**
+     * 会话令牌在退出前有效，退出后失效；未签发的令牌无效
+     */
+    @Test
+    void testResolve_UntilRevoked() {
+        SessionTokenStore sessions = new SessionTokenStore(new AuthProperties());
+        AuthUser user = new AuthUser(7L, "张三", "USER");
+        
+        String token = sessions.issue(user);
+        assertEquals(user, sessions.resolve(token));
+        assertNull(sessions.resolve("unknown"));
+        sessions.revoke(token);
+        assertNull(sessions.resolve(token));
+        
+        System.out.println("✅ 会话令牌 - 通过");
+    }
+}
@@ -0,0 +1,48 @@
+package com.asset.management.security;
+
+import com.asset.management.config.AuthProperties;
+import com.asset.management.dto.AuthUser;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 签名令牌测试
+ */
+class SignedTokenStoreTest {
+    
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+    
+    private final AuthProperties properties = new AuthProperties();
+    private final AuthUser user = new AuthUser(7L, "张三", "USER");
+    
+    /**
+     * 签名令牌可由相同密钥的实例校验，篡改、格式错误或密钥不同则无效
+     */
+    @Test
+    void testResolve_SameSecretOnly() {
+        String token = new SignedTokenStore(properties, SECRET).issue(user);
+        
+        assertEquals(user, new SignedTokenStore(properties, SECRET).resolve(token));
+        assertNull(new SignedTokenStore(properties, null).resolve(token));
+        String tampered = token.replaceFirst("^.", token.charAt(0) == 'A' ? "B" : "A");
+        assertNull(new SignedTokenStore(properties, SECRET).resolve(tampered));
+        assertNull(new SignedTokenStore(properties, SECRET).resolve("garbage"));
+        
+        System.out.println("✅ 签名令牌 - 通过");
+    }
+    
+    /**
+     * 密钥不足 32 字节时拒绝创建
+     */
+    @Test
+    void testConstruct_RejectsShortSecret() {
+        byte[] shortSecret = "too-short".getBytes(StandardCharsets.UTF_8);
+        
+        assertThrows(IllegalStateException.class, () -> new SignedTokenStore(properties, shortSecret));
+        
+        System.out.println("✅ 签名密钥长度 - 通过");
+    }
+}